@@ -0,0 +1,42 @@
+package com.taskmanagementsystem;
+
+import javafx.beans.property.SimpleObjectProperty;
+
+import java.util.function.Consumer;
+
+/**
+ * Object property that shows a plain field of a model object (e.g. the deadline of a
+ * {@link Task}) to the JavaFX UI. Setting the property stores the value in the field;
+ * {@link #sync(Object)} brings the property up to date with the field without storing it back.
+ *
+ * Like every JavaFX property it is not thread-safe: it is created, synced and observed on the
+ * JavaFX thread, while the field itself may change on any thread (see {@link DataManager}).
+ */
+class BackedObjectProperty<T> extends SimpleObjectProperty<T> {
+    private final Consumer<T> store;
+    private boolean syncing;
+
+    BackedObjectProperty(Object bean, String name, T initialValue, Consumer<T> store) {
+        super(bean, name, initialValue);
+        this.store = store;
+    }
+
+    /**
+     * Sets the value the field already holds, notifying the listeners of the property.
+     */
+    void sync(T value) {
+        syncing = true;
+        try {
+            set(value);
+        } finally {
+            syncing = false;
+        }
+    }
+
+    @Override
+    protected void invalidated() {
+        if (!syncing) {
+            store.accept(get());
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.taskmanagementsystem;
+
+import javafx.beans.property.SimpleStringProperty;
+
+import java.util.function.Consumer;
+
+/**
+ * String property that shows a plain field of a model object (e.g. the title of a
+ * {@link Task}) to the JavaFX UI; see {@link BackedObjectProperty}.
+ */
+class BackedStringProperty extends SimpleStringProperty {
+    private final Consumer<String> store;
+    private boolean syncing;
+
+    BackedStringProperty(Object bean, String name, String initialValue, Consumer<String> store) {
+        super(bean, name, initialValue);
+        this.store = store;
+    }
+
+    /**
+     * Sets the value the field already holds, notifying the listeners of the property.
+     */
+    void sync(String value) {
+        syncing = true;
+        try {
+            set(value);
+        } finally {
+            syncing = false;
+        }
+    }
+
+    @Override
+    protected void invalidated() {
+        if (!syncing) {
+            store.accept(get());
+        }
+    }
+}
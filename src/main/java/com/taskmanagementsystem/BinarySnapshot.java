@@ -0,0 +1,550 @@
+package com.taskmanagementsystem;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * The binary snapshot of the "medialab" folder: every category, priority, task and reminder
+ * in a single file, written and read as a stream.
+ *
+ * Layout of version 1 (numbers are big-endian):
+ * <pre>
+ *   header    magic "MLAB", version (u16), flags (u16, 0),
+ *             number of categories, priorities, tasks, reminders (int each)
+ *   records   the categories, then the priorities, the tasks and the reminders:
+ *               category / priority  id, name
+ *               task                 id, title, description, category, priority,
+ *                                    deadline (int epoch day), status (byte ordinal)
+ *               reminder             id, taskId, type (byte ordinal), date (int epoch day),
+ *                                    notified (byte, 0 or 1)
+ *   trailer   CRC32 of everything before it (int)
+ * </pre>
+ * An id is its two longs, all zero for none; a missing date is {@link Integer#MIN_VALUE}
+ * and a missing enum value -1.
+ *
+ * The category and the priority of a task are a varint reference into their section:
+ * 0 = none, 1 = an id follows (a category or priority that is not in the file),
+ * n &gt;= 2 = record n - 2 of the section. The reader so takes the foreign keys from an
+ * array instead of looking up every id.
+ *
+ * Strings go through a string table that both sides build while streaming. Each string
+ * starts with a varint tag: 0 = null, 1 = text follows, 2 = text follows and becomes the
+ * next entry of the table, n &gt;= 3 = entry n - 3 of the table. Text is a varint length
+ * and UTF-8 bytes. The writer puts at most {@link #MAX_TABLE_SIZE} strings in the table,
+ * so repeated titles and names are stored once without holding every string of a large
+ * file in memory.
+ */
+final class BinarySnapshot {
+    static final int MAGIC = 0x4D4C4142; // "MLAB"
+    static final int VERSION = 1;
+
+    private static final int MAX_TABLE_SIZE = 1 << 16;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+
+    private static final int STRING_NULL = 0;
+    private static final int STRING_INLINE = 1;
+    private static final int STRING_DEFINE = 2;
+    private static final int STRING_REF = 3;
+
+    private static final int REF_NONE = 0;
+    private static final int REF_ID = 1;
+    private static final int REF_RECORD = 2;
+
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final ReminderType[] REMINDER_TYPES = ReminderType.values();
+
+    private static final VarHandle INT = MethodHandles.byteArrayViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+    private static final VarHandle LONG = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private BinarySnapshot() {
+    }
+
+    /**
+     * Writes a snapshot to a stream, then flushes it (the stream is not closed).
+     */
+    static void write(OutputStream out, Object[] categories, Object[] priorities,
+                      Object[] tasks, Object[] reminders) throws IOException {
+        Writer writer = new Writer(out);
+
+        writer.writeInt(MAGIC);
+        writer.writeShort(VERSION);
+        writer.writeShort(0);
+        writer.writeInt(categories.length);
+        writer.writeInt(priorities.length);
+        writer.writeInt(tasks.length);
+        writer.writeInt(reminders.length);
+
+        for (Object o : categories) {
+            Category c = (Category) o;
+            writer.categories.putIfAbsent(c.getId(), writer.categories.size());
+            writer.writeId(c.getId());
+            writer.writeString(c.getName());
+        }
+        for (Object o : priorities) {
+            Priority p = (Priority) o;
+            writer.priorities.putIfAbsent(p.getId(), writer.priorities.size());
+            writer.writeId(p.getId());
+            writer.writeString(p.getName());
+        }
+        for (Object o : tasks) {
+            Task t = (Task) o;
+            writer.writeId(t.getId());
+            writer.writeString(t.getTitle());
+            writer.writeString(t.getDescription());
+            writer.writeRef(writer.categories, t.getCategoryId());
+            writer.writeRef(writer.priorities, t.getPriorityId());
+            writer.writeDate(t.getDeadline());
+            writer.writeByte(t.getStatus() != null ? t.getStatus().ordinal() : -1);
+        }
+        for (Object o : reminders) {
+            Reminder r = (Reminder) o;
+            writer.writeId(r.getId());
+            writer.writeId(r.getTaskId());
+            writer.writeByte(r.getType() != null ? r.getType().ordinal() : -1);
+            writer.writeDate(r.getReminderDate());
+            writer.writeByte(r.isNotified() ? 1 : 0);
+        }
+
+        writer.finish();
+    }
+
+    /**
+     * Writes a snapshot to a file and forces it to the disk before returning, so that the
+     * file can replace the previous snapshot (and the journal it contains can be dropped).
+     */
+    static void write(File file, Object[] categories, Object[] priorities,
+                      Object[] tasks, Object[] reminders) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            write(out, categories, priorities, tasks, reminders);
+            out.getChannel().force(true);
+        }
+    }
+
+    /**
+     * Checks the checksum of a snapshot without decoding it, so that a damaged file is rejected
+     * before any of its records is used. Reads the file once, a block at a time.
+     *
+     * @throws IOException if the file cannot be read, or is damaged or truncated
+     */
+    static void verify(File file) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream in = new FileInputStream(file)) {
+            long remaining = file.length() - 4;
+            if (remaining < 0) {
+                throw new EOFException("Corrupt snapshot (truncated): " + file);
+            }
+            while (remaining > 0) {
+                int read = in.read(buffer, 0, (int) Math.min(buffer.length, remaining));
+                if (read < 0) {
+                    throw new EOFException("Corrupt snapshot (truncated): " + file);
+                }
+                crc.update(buffer, 0, read);
+                remaining -= read;
+            }
+            if (in.readNBytes(buffer, 0, 4) != 4 || (int) INT.get(buffer, 0) != (int) crc.getValue()) {
+                throw new IOException("Corrupt snapshot (checksum mismatch): " + file);
+            }
+        }
+    }
+
+    /**
+     * Reads the header of a snapshot only.
+     *
+     * @return the number of records in all sections, at most as many as the file has room for
+     *         (a damaged header is only detected when the whole file is read)
+     * @throws IOException if the file is not a snapshot or has an unknown version
+     */
+    static int recordCount(File file) throws IOException {
+        try (Reader reader = new Reader(file, null)) {
+            long total = 0;
+            for (Reader.Section section : Reader.Section.values()) {
+                total += reader.count(section);
+            }
+            // Every record starts with its 16-byte id
+            return (int) Math.min(total, file.length() / 16);
+        }
+    }
+
+    /**
+     * Reads a snapshot record by record: {@link #count(Section)} tells how many records each
+     * section holds; they must be read in section order and {@link #finish()} called at the end,
+     * which verifies the checksum.
+     *
+     * Reads the file in blocks into a buffer of its own and decodes the values straight from
+     * it; the checksum is updated a block at a time, over the bytes consumed so far.
+     */
+    static final class Reader implements Closeable {
+        enum Section { CATEGORIES, PRIORITIES, TASKS, REMINDERS }
+
+        private final File file;
+        private final InputStream in;
+        private final CRC32 crc = new CRC32();
+        private byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;       // next byte to decode
+        private int limit;          // end of the bytes read into the buffer
+        private int unchecked;      // start of the consumed bytes not yet added to the checksum
+        private final int[] counts = new int[Section.values().length];
+        private final List<String> table = new ArrayList<>();
+        private final EntityIdPool ids;
+        // The ids of the categories and priorities read so far, by record number
+        private final EntityId[] categoryIds;
+        private final EntityId[] priorityIds;
+        private int categoriesRead;
+        private int prioritiesRead;
+
+        /**
+         * Opens a snapshot and reads its header.
+         *
+         * @param ids maps the ids of the categories, priorities and tasks and the foreign keys
+         *            to single instances (see {@link EntityIdPool})
+         * @throws IOException if the file is not a snapshot or has an unknown version
+         */
+        Reader(File file, EntityIdPool ids) throws IOException {
+            this.file = file;
+            this.ids = ids;
+            this.in = new FileInputStream(file);
+            try {
+                if (readInt() != MAGIC) {
+                    throw new IOException("Not a snapshot file: " + file);
+                }
+                int version = readUnsignedShort();
+                if (version != VERSION) {
+                    throw new IOException("Unsupported snapshot version " + version + ": " + file);
+                }
+                readUnsignedShort(); // flags
+                for (int i = 0; i < counts.length; i++) {
+                    counts[i] = readInt();
+                    if (counts[i] < 0) {
+                        throw new IOException("Corrupt snapshot header: " + file);
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                throw e;
+            }
+            this.categoryIds = new EntityId[count(Section.CATEGORIES)];
+            this.priorityIds = new EntityId[count(Section.PRIORITIES)];
+        }
+
+        int count(Section section) {
+            return counts[section.ordinal()];
+        }
+
+        Category readCategory() throws IOException {
+            EntityId id = intern(readId());
+            categoryIds[categoriesRead++] = id;
+            return new Category(id, readString());
+        }
+
+        Priority readPriority() throws IOException {
+            EntityId id = intern(readId());
+            priorityIds[prioritiesRead++] = id;
+            return new Priority(id, readString());
+        }
+
+        Task readTask() throws IOException {
+            Task task = new Task(intern(readId()));
+            task.setTitle(readString());
+            task.setDescription(readString());
+            task.setCategoryId(readRef(categoryIds, categoriesRead));
+            task.setPriorityId(readRef(priorityIds, prioritiesRead));
+            task.setDeadline(readDate());
+            task.setStatus(readEnum(STATUSES));
+            return task;
+        }
+
+        Reminder readReminder() throws IOException {
+            Reminder reminder = new Reminder(readId());
+            reminder.setTaskId(intern(readId()));
+            reminder.setType(readEnum(REMINDER_TYPES));
+            reminder.setReminderDate(readDate());
+            reminder.setNotified(readByte() != 0);
+            return reminder;
+        }
+
+        /**
+         * Checks that the whole file was read and that its checksum matches.
+         *
+         * @throws IOException if the file is damaged
+         */
+        void finish() throws IOException {
+            crc.update(buffer, unchecked, position - unchecked);
+            unchecked = position;
+            int expected = (int) crc.getValue();
+            // The trailer is not covered by the checksum: skip it when checking what was consumed
+            int stored = readInt();
+            unchecked = position;
+            if (stored != expected || position != limit || in.read() != -1) {
+                throw new IOException("Corrupt snapshot (checksum mismatch): " + file);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        /**
+         * Makes sure the buffer holds at least {@code n} unread bytes, reading more of the file.
+         */
+        private void require(int n) throws IOException {
+            if (limit - position >= n) return;
+            crc.update(buffer, unchecked, position - unchecked);
+            int remaining = limit - position;
+            byte[] target = (n > buffer.length) ? new byte[Math.max(n, buffer.length * 2)] : buffer;
+            System.arraycopy(buffer, position, target, 0, remaining);
+            buffer = target;
+            position = 0;
+            unchecked = 0;
+            limit = remaining;
+            while (limit < n) {
+                int read = in.read(buffer, limit, buffer.length - limit);
+                if (read < 0) {
+                    throw new EOFException("Corrupt snapshot (truncated): " + file);
+                }
+                limit += read;
+            }
+        }
+
+        private EntityId intern(EntityId id) {
+            return (id != null) ? ids.intern(id) : null;
+        }
+
+        private int readByte() throws IOException {
+            require(1);
+            return buffer[position++];
+        }
+
+        private int readUnsignedShort() throws IOException {
+            require(2);
+            int value = ((buffer[position] & 0xFF) << 8) | (buffer[position + 1] & 0xFF);
+            position += 2;
+            return value;
+        }
+
+        private int readInt() throws IOException {
+            require(4);
+            int value = (int) INT.get(buffer, position);
+            position += 4;
+            return value;
+        }
+
+        private EntityId readId() throws IOException {
+            require(16);
+            long mostSigBits = (long) LONG.get(buffer, position);
+            long leastSigBits = (long) LONG.get(buffer, position + 8);
+            position += 16;
+            return (mostSigBits == 0 && leastSigBits == 0) ? null : EntityId.of(mostSigBits, leastSigBits);
+        }
+
+        /**
+         * @param records the ids of the records of the referenced section
+         * @param read    how many of them have been read
+         */
+        private EntityId readRef(EntityId[] records, int read) throws IOException {
+            int ref = readVarInt();
+            if (ref == REF_NONE) return null;
+            if (ref == REF_ID) return intern(readId());
+            int index = ref - REF_RECORD;
+            if (index >= read) {
+                throw new IOException("Corrupt snapshot (bad reference): " + file);
+            }
+            return records[index];
+        }
+
+        private LocalDate readDate() throws IOException {
+            int epochDay = readInt();
+            return (epochDay == NO_DATE) ? null : LocalDate.ofEpochDay(epochDay);
+        }
+
+        private <E> E readEnum(E[] values) throws IOException {
+            int ordinal = readByte();
+            if (ordinal < 0) return null;
+            if (ordinal >= values.length) {
+                throw new IOException("Corrupt snapshot (unknown enum value " + ordinal + "): " + file);
+            }
+            return values[ordinal];
+        }
+
+        private String readString() throws IOException {
+            int tag = readVarInt();
+            switch (tag) {
+                case STRING_NULL:
+                    return null;
+                case STRING_INLINE:
+                    return readText();
+                case STRING_DEFINE:
+                    String text = readText();
+                    table.add(text);
+                    return text;
+                default:
+                    int index = tag - STRING_REF;
+                    if (index >= table.size()) {
+                        throw new IOException("Corrupt snapshot (bad string reference): " + file);
+                    }
+                    return table.get(index);
+            }
+        }
+
+        private String readText() throws IOException {
+            int length = readVarInt();
+            require(length);
+            String text = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return text;
+        }
+
+        private int readVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = readByte() & 0xFF;
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    if (value < 0) break;
+                    return value;
+                }
+            }
+            throw new IOException("Corrupt snapshot (bad number): " + file);
+        }
+    }
+
+    /**
+     * The encoding on the writing side. Values are encoded into a buffer of its own, which is
+     * added to the checksum and written to the stream a block at a time.
+     */
+    private static final class Writer {
+        private final OutputStream out;
+        private final CRC32 crc = new CRC32();
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private final Map<String, Integer> table = new HashMap<>();
+        // Record numbers of the categories and priorities written so far
+        final Map<EntityId, Integer> categories = new HashMap<>();
+        final Map<EntityId, Integer> priorities = new HashMap<>();
+
+        Writer(OutputStream out) {
+            this.out = out;
+        }
+
+        void writeByte(int value) throws IOException {
+            require(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeShort(int value) throws IOException {
+            require(2);
+            buffer[position] = (byte) (value >>> 8);
+            buffer[position + 1] = (byte) value;
+            position += 2;
+        }
+
+        void writeInt(int value) throws IOException {
+            require(4);
+            INT.set(buffer, position, value);
+            position += 4;
+        }
+
+        void writeId(EntityId id) throws IOException {
+            require(16);
+            LONG.set(buffer, position, id != null ? id.mostSigBits() : 0L);
+            LONG.set(buffer, position + 8, id != null ? id.leastSigBits() : 0L);
+            position += 16;
+        }
+
+        void writeRef(Map<EntityId, Integer> records, EntityId id) throws IOException {
+            if (id == null) {
+                writeVarInt(REF_NONE);
+                return;
+            }
+            Integer index = records.get(id);
+            if (index != null) {
+                writeVarInt(REF_RECORD + index);
+            } else {
+                writeVarInt(REF_ID);
+                writeId(id);
+            }
+        }
+
+        void writeDate(LocalDate date) throws IOException {
+            writeInt(date != null ? Math.toIntExact(date.toEpochDay()) : NO_DATE);
+        }
+
+        void writeString(String s) throws IOException {
+            if (s == null) {
+                writeVarInt(STRING_NULL);
+                return;
+            }
+            Integer index = table.get(s);
+            if (index != null) {
+                writeVarInt(STRING_REF + index);
+                return;
+            }
+            if (table.size() < MAX_TABLE_SIZE) {
+                table.put(s, table.size());
+                writeVarInt(STRING_DEFINE);
+            } else {
+                writeVarInt(STRING_INLINE);
+            }
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            if (bytes.length > buffer.length) {
+                flushBuffer();
+                crc.update(bytes);
+                out.write(bytes);
+            } else {
+                require(bytes.length);
+                System.arraycopy(bytes, 0, buffer, position, bytes.length);
+                position += bytes.length;
+            }
+        }
+
+        /**
+         * Writes out the buffer, then the checksum of everything written, then flushes the stream.
+         */
+        void finish() throws IOException {
+            flushBuffer();
+            INT.set(buffer, 0, (int) crc.getValue());
+            out.write(buffer, 0, 4);
+            out.flush();
+        }
+
+        private void writeVarInt(int value) throws IOException {
+            require(5);
+            while ((value & ~0x7F) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        private void require(int n) throws IOException {
+            if (buffer.length - position < n) {
+                flushBuffer();
+            }
+        }
+
+        private void flushBuffer() throws IOException {
+            crc.update(buffer, 0, position);
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.taskmanagementsystem;
+
+import javafx.collections.ModifiableObservableListBase;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * An ObservableList backed by an ArrayList, whose {@link #removeAll(Collection)} and
+ * {@link #removeIf(Predicate)} compact the list in a single pass and publish all removals
+ * as one change, and whose {@code clear()} removes everything with one array copy.
+ *
+ * The list returned by {@code FXCollections.observableArrayList()} removes scattered
+ * elements one array copy at a time, which is quadratic when thousands of tasks are removed
+ * together (e.g. when their category is deleted).
+ */
+class BulkObservableList<E> extends ModifiableObservableListBase<E> {
+    private final ArrayList<E> elements = new ArrayList<>();
+
+    /**
+     * Removes every element contained in the given collection.
+     * Pass a Set: {@code contains} is called once per element of this list, up to the last
+     * element to remove; the rest of the list is then shifted with a single array copy.
+     */
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        if (c.isEmpty()) return false;
+        // Elements of a Set are distinct, so we know when the last one has been found
+        return removeMatching(c::contains, (c instanceof Set) ? c.size() : -1);
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super E> filter) {
+        return removeMatching(filter, -1);
+    }
+
+    /**
+     * Applies several modifications as a single change: listeners are notified once, at the end.
+     */
+    void applyAsOneChange(Runnable modifications) {
+        beginChange();
+        try {
+            modifications.run();
+        } finally {
+            endChange();
+        }
+    }
+
+    /**
+     * Publishes an update change (see {@link javafx.collections.ListChangeListener.Change#wasUpdated()})
+     * for every element of the given set, so that observers such as a FilteredList or SortedList
+     * re-evaluate just those elements. The list is scanned once, whatever the size of the set.
+     */
+    void fireUpdated(Set<?> updated) {
+        if (updated.isEmpty()) return;
+        beginChange();
+        try {
+            int remaining = updated.size();
+            for (int i = 0; i < elements.size() && remaining > 0; i++) {
+                if (updated.contains(elements.get(i))) {
+                    nextUpdate(i);
+                    remaining--;
+                }
+            }
+        } finally {
+            endChange();
+        }
+    }
+
+    /**
+     * @param remaining how many elements match at most, or -1 if unknown
+     */
+    private boolean removeMatching(Predicate<? super E> filter, int remaining) {
+        if (elements.isEmpty()) return false;
+        int size = elements.size();
+        int read = 0;
+        int write = 0;
+        boolean modified = false;
+        beginChange();
+        try {
+            List<E> removedRun = null;
+            for (; read < size && remaining != 0; read++) {
+                E e = elements.get(read);
+                if (filter.test(e)) {
+                    if (removedRun == null) removedRun = new ArrayList<>();
+                    removedRun.add(e);
+                    remaining--;
+                    continue;
+                }
+                if (removedRun != null) {
+                    // Indices are those of the list as it looks after the previous removals
+                    nextRemove(write, removedRun);
+                    removedRun = null;
+                    modified = true;
+                }
+                elements.set(write++, e);
+            }
+            if (removedRun != null) {
+                nextRemove(write, removedRun);
+                modified = true;
+            }
+            // Drops the slots of the removed elements and shifts the unvisited tail
+            elements.subList(write, read).clear();
+            if (modified) modCount++;
+        } finally {
+            endChange();
+        }
+        return modified;
+    }
+
+    /**
+     * Removes a range as one array copy; used by clear() and setAll().
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex == toIndex) return;
+        beginChange();
+        try {
+            List<E> range = elements.subList(fromIndex, toIndex);
+            nextRemove(fromIndex, new ArrayList<>(range));
+            range.clear();
+            modCount++;
+        } finally {
+            endChange();
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends E> c) {
+        elements.ensureCapacity(elements.size() + c.size());
+        return super.addAll(c);
+    }
+
+    @Override
+    public E get(int index) {
+        return elements.get(index);
+    }
+
+    @Override
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    protected void doAdd(int index, E element) {
+        elements.add(index, element);
+    }
+
+    @Override
+    protected E doSet(int index, E element) {
+        return elements.set(index, element);
+    }
+
+    @Override
+    protected E doRemove(int index) {
+        return elements.remove(index);
+    }
+}
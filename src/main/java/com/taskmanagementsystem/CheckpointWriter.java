@@ -0,0 +1,83 @@
+package com.taskmanagementsystem;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs checkpoints on a background thread, so no caller ever waits for the disk.
+ *
+ * Requests are debounced: a checkpoint runs once no new request has arrived for
+ * {@link #QUIET_MILLIS}, but never later than {@link #MAX_DELAY_MILLIS} after the first
+ * request of a burst, so a steady stream of changes still gets compacted. At most one
+ * checkpoint runs at a time; a request made while one is running schedules another.
+ */
+class CheckpointWriter {
+    private static final long QUIET_MILLIS = 2_000;
+    private static final long MAX_DELAY_MILLIS = 10_000;
+
+    private final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+        Thread t = new Thread(r, "medialab-writer");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Runnable checkpoint;
+    private ScheduledFuture<?> pending;
+    private long firstRequestNanos;
+
+    /**
+     * @param checkpoint writes the checkpoint; called on the writer thread
+     */
+    CheckpointWriter(Runnable checkpoint) {
+        this.checkpoint = checkpoint;
+        executor.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * Asks for a checkpoint once the changes calm down.
+     */
+    synchronized void request() {
+        long now = System.nanoTime();
+        if (pending == null || !pending.cancel(false)) {
+            // First request of a burst (or the pending one has just started)
+            firstRequestNanos = now;
+        }
+        long untilDeadline = MAX_DELAY_MILLIS - TimeUnit.NANOSECONDS.toMillis(now - firstRequestNanos);
+        long delay = Math.max(0, Math.min(QUIET_MILLIS, untilDeadline));
+        pending = executor.schedule(this::run, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Drops a checkpoint that has not started yet and waits for the one being written, if any.
+     * Used on shutdown: the journal already holds every change, so nothing new is written.
+     */
+    void awaitIdle() {
+        synchronized (this) {
+            if (pending != null) {
+                pending.cancel(false);
+                pending = null;
+            }
+        }
+        try {
+            // The single writer thread reaches this only after the checkpoint in progress
+            executor.submit(() -> { }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private void run() {
+        synchronized (this) {
+            pending = null;
+        }
+        try {
+            checkpoint.run();
+        } catch (RuntimeException e) {
+            // Keep the writer thread alive; the journal still holds the changes
+            e.printStackTrace();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.taskmanagementsystem;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * One change of the data managed by {@link DataManager}, e.g. "task added" or
+ * "title and status of task X changed". Delivered to {@link DataChangeListener}s.
+ *
+ * Changes of one operation are merged per entity: an entity that was added and then edited
+ * is reported as added, one that was added and then removed is not reported at all.
+ */
+public class DataChangeEvent {
+
+    /**
+     * What happened to the entity.
+     */
+    public enum Kind {
+        ADDED,
+        REMOVED,
+        UPDATED,
+        /** All data was (re)loaded; {@link #getEntity()} is null. */
+        RELOADED
+    }
+
+    /**
+     * The kinds of entities that can change.
+     */
+    public enum EntityType {
+        CATEGORY,
+        PRIORITY,
+        TASK,
+        REMINDER
+    }
+
+    /**
+     * The fields an update can change.
+     */
+    public enum Field {
+        // Category / Priority
+        NAME,
+        // Task
+        TITLE,
+        DESCRIPTION,
+        CATEGORY,
+        PRIORITY,
+        DEADLINE,
+        STATUS,
+        // Reminder
+        TASK,
+        TYPE,
+        REMINDER_DATE
+    }
+
+    private final Kind kind;
+    private final EntityType entityType;
+    private final Object entity;
+    private final Set<Field> fields;
+
+    DataChangeEvent(Kind kind, EntityType entityType, Object entity, Set<Field> fields) {
+        this.kind = kind;
+        this.entityType = entityType;
+        this.entity = entity;
+        this.fields = fields.isEmpty()
+                ? Collections.emptySet()
+                : Collections.unmodifiableSet(EnumSet.copyOf(fields));
+    }
+
+    static DataChangeEvent reloaded() {
+        return new DataChangeEvent(Kind.RELOADED, null, null, Collections.emptySet());
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return the type of the changed entity, or null for {@link Kind#RELOADED}
+     */
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    /**
+     * @return the changed Category, Priority, Task or Reminder (null for {@link Kind#RELOADED})
+     */
+    public Object getEntity() {
+        return entity;
+    }
+
+    /**
+     * @return the fields changed by an {@link Kind#UPDATED} event; empty for the other kinds
+     */
+    public Set<Field> getFields() {
+        return fields;
+    }
+
+    /**
+     * @return true if this is an update that changed any of the given fields
+     */
+    public boolean changed(Field... anyOf) {
+        for (Field field : anyOf) {
+            if (fields.contains(field)) return true;
+        }
+        return false;
+    }
+
+    public boolean is(EntityType type, Kind kind) {
+        return this.entityType == type && this.kind == kind;
+    }
+
+    @Override
+    public String toString() {
+        return kind + (entityType != null ? " " + entityType : "") + (fields.isEmpty() ? "" : " " + fields);
+    }
+}
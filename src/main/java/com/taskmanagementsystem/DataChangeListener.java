@@ -0,0 +1,20 @@
+package com.taskmanagementsystem;
+
+import java.util.List;
+
+/**
+ * Receives the changes made through {@link DataManager}.
+ *
+ * @see DataManager#addChangeListener(DataChangeListener)
+ */
+@FunctionalInterface
+public interface DataChangeListener {
+
+    /**
+     * Called once per operation (or {@link DataManager#batch(Runnable) batch}), on the JavaFX
+     * thread, after the ObservableLists of the DataManager have changed.
+     *
+     * @param changes the changes of the operation, in the order they happened
+     */
+    void dataChanged(List<DataChangeEvent> changes);
+}
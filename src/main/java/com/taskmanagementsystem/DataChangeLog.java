@@ -0,0 +1,88 @@
+package com.taskmanagementsystem;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects the changes of one operation and merges them per entity into
+ * {@link DataChangeEvent}s. Not thread-safe: used under the DataManager's write lock.
+ */
+class DataChangeLog {
+    // Entities do not override equals(), so this map is keyed by identity
+    private final Map<Object, Pending> pending = new LinkedHashMap<>();
+    private boolean reloaded;
+
+    void added(DataChangeEvent.EntityType type, Object entity) {
+        if (reloaded) return;
+        Pending p = pending.get(entity);
+        if (p == null) {
+            pending.put(entity, new Pending(DataChangeEvent.Kind.ADDED, type));
+        } else if (p.kind == DataChangeEvent.Kind.REMOVED) {
+            // Removed and added back (e.g. moved): anything about it may have changed
+            p.kind = DataChangeEvent.Kind.UPDATED;
+            p.fields.clear();
+        }
+    }
+
+    void removed(DataChangeEvent.EntityType type, Object entity) {
+        if (reloaded) return;
+        Pending p = pending.get(entity);
+        if (p == null) {
+            pending.put(entity, new Pending(DataChangeEvent.Kind.REMOVED, type));
+        } else if (p.kind == DataChangeEvent.Kind.ADDED) {
+            pending.remove(entity);
+        } else {
+            p.kind = DataChangeEvent.Kind.REMOVED;
+            p.fields.clear();
+        }
+    }
+
+    void updated(DataChangeEvent.EntityType type, Object entity, DataChangeEvent.Field field) {
+        if (reloaded) return;
+        Pending p = pending.computeIfAbsent(entity, e -> new Pending(DataChangeEvent.Kind.UPDATED, type));
+        if (p.kind == DataChangeEvent.Kind.UPDATED) {
+            p.fields.add(field);
+        }
+    }
+
+    /**
+     * Replaces everything recorded so far (and until {@link #drain()}) with one
+     * {@link DataChangeEvent.Kind#RELOADED} event.
+     */
+    void reloaded() {
+        pending.clear();
+        reloaded = true;
+    }
+
+    /**
+     * @return the merged changes recorded since the last call, in order
+     */
+    List<DataChangeEvent> drain() {
+        List<DataChangeEvent> events = new ArrayList<>(reloaded ? 1 : pending.size());
+        if (reloaded) {
+            events.add(DataChangeEvent.reloaded());
+        } else {
+            for (Map.Entry<Object, Pending> e : pending.entrySet()) {
+                Pending p = e.getValue();
+                events.add(new DataChangeEvent(p.kind, p.type, e.getKey(), p.fields));
+            }
+        }
+        pending.clear();
+        reloaded = false;
+        return events;
+    }
+
+    private static class Pending {
+        private final DataChangeEvent.EntityType type;
+        private final EnumSet<DataChangeEvent.Field> fields = EnumSet.noneOf(DataChangeEvent.Field.class);
+        private DataChangeEvent.Kind kind;
+
+        Pending(DataChangeEvent.Kind kind, DataChangeEvent.EntityType type) {
+            this.kind = kind;
+            this.type = type;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.taskmanagementsystem;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Append-only journal of the mutations applied through {@link DataManager}.
+ *
+ * Every line of the journal file is one JSON entry, either
+ * {@code {"op":"PUT","type":"TASK","data":{...}}} or
+ * {@code {"op":"DELETE","type":"TASK","id":"..."}}.
+ * Entries are idempotent, so replaying the journal on top of a snapshot that
+ * already contains some of them is harmless.
+ *
+ * While a checkpoint is being written, the entries it covers are kept in a separate
+ * "rotated" file (see {@link #rotate()}) and new entries go to a fresh journal file.
+ * The rotated file is deleted once the checkpoint is safely on disk; until then both
+ * files are replayed, oldest first.
+ *
+ * {@link #flush()} forces the entries to the disk, so an operation that has returned
+ * survives a power loss as well as a crash of the application.
+ */
+class DataJournal {
+
+    /**
+     * The kinds of entities that can appear in the journal.
+     */
+    enum EntityType {
+        CATEGORY,
+        PRIORITY,
+        TASK,
+        REMINDER
+    }
+
+    /**
+     * Receives the entries of the journal during {@link #replay(Replayer)}.
+     */
+    interface Replayer {
+        void put(EntityType type, JsonNode data) throws IOException;
+
+        void delete(EntityType type, EntityId id);
+    }
+
+    private final File file;
+    private final File rotatedFile;
+    private final ObjectMapper mapper;
+    private BufferedWriter writer;
+    private FileChannel channel;    // of the open journal file, for forcing it to the disk
+    private int size;
+
+    /**
+     * @param file   the journal file (created on first write)
+     * @param mapper the mapper used to (de)serialize entities
+     */
+    DataJournal(File file, ObjectMapper mapper) {
+        this.file = file;
+        this.rotatedFile = new File(file.getPath() + ".old");
+        this.mapper = mapper;
+    }
+
+    /**
+     * Records that the given entity was created or updated.
+     */
+    void put(EntityType type, Object entity) {
+        ObjectNode entry = mapper.createObjectNode();
+        entry.put("op", "PUT");
+        entry.put("type", type.name());
+        entry.set("data", mapper.valueToTree(entity));
+        append(entry);
+    }
+
+    /**
+     * Records that the entity with the given id was deleted.
+     */
+    void delete(EntityType type, EntityId id) {
+        ObjectNode entry = mapper.createObjectNode();
+        entry.put("op", "DELETE");
+        entry.put("type", type.name());
+        entry.put("id", id.toString());
+        append(entry);
+    }
+
+    /**
+     * Writes the entries so far to the file and forces them to the disk.
+     * Called once per operation (once per batch), so that a crash or a power loss loses at
+     * most the operation in progress.
+     */
+    void flush() {
+        if (writer == null) return;
+        try {
+            writer.flush();
+            channel.force(false);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * @return the number of entries written since the last {@link #rotate()}
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Replays every entry of the journal (a rotated file left by an unfinished checkpoint
+     * first), in the order it was written.
+     * A torn last line (e.g. the application crashed while writing it) is ignored.
+     */
+    void replay(Replayer replayer) throws IOException {
+        size = 0;
+        replay(rotatedFile, replayer);
+        replay(file, replayer);
+    }
+
+    private void replay(File source, Replayer replayer) throws IOException {
+        if (!source.exists()) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(source.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                JsonNode entry;
+                try {
+                    entry = mapper.readTree(line);
+                } catch (IOException e) {
+                    System.err.println("Skipping unreadable journal entry: " + e.getMessage());
+                    continue;
+                }
+                EntityType type = EntityType.valueOf(entry.get("type").asText());
+                if ("DELETE".equals(entry.get("op").asText())) {
+                    replayer.delete(type, EntityId.parse(entry.get("id").asText()));
+                } else {
+                    replayer.put(type, entry.get("data"));
+                }
+                size++;
+            }
+        }
+    }
+
+    /**
+     * Sets the entries written so far aside for a checkpoint and starts an empty journal.
+     * If the previous checkpoint never completed, its rotated file is still there and the
+     * current entries are appended to it, so no entry is dropped before it is checkpointed.
+     */
+    void rotate() throws IOException {
+        close();
+        if (file.exists()) {
+            if (rotatedFile.exists()) {
+                try (FileOutputStream out = new FileOutputStream(rotatedFile, true)) {
+                    Files.copy(file.toPath(), out);
+                    // On the disk before the journal is emptied
+                    out.getChannel().force(false);
+                }
+                Files.write(file.toPath(), new byte[0]);
+            } else {
+                Files.move(file.toPath(), rotatedFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            }
+        }
+        size = 0;
+    }
+
+    /**
+     * Deletes the rotated entries. Called once the checkpoint that contains them is written.
+     */
+    void dropRotated() throws IOException {
+        Files.deleteIfExists(rotatedFile.toPath());
+    }
+
+    /**
+     * Closes the underlying file. The next write reopens it.
+     */
+    void close() {
+        if (writer == null) return;
+        try {
+            writer.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        writer = null;
+        channel = null;
+    }
+
+    private void append(ObjectNode entry) {
+        try {
+            if (writer == null) {
+                File folder = file.getAbsoluteFile().getParentFile();
+                if (!folder.exists()) {
+                    folder.mkdirs();
+                }
+                boolean created = !file.exists();
+                FileOutputStream out = new FileOutputStream(file, true);
+                channel = out.getChannel();
+                writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                if (created) {
+                    // The new file's entry in the folder must reach the disk as well
+                    DataManager.forceDirectory(folder);
+                }
+            }
+            writer.write(mapper.writeValueAsString(entry));
+            writer.newLine();
+            size++;
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
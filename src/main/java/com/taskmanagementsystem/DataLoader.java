@@ -0,0 +1,355 @@
+package com.taskmanagementsystem;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.Function;
+
+/**
+ * Reads the files of the "medialab" folder: the binary snapshot (see {@link BinarySnapshot})
+ * or JSON files, several files concurrently.
+ *
+ * Every file is streamed on its own thread, one object at a time (JSON files token by token
+ * with a {@link JsonParser}). Parsed objects are handed over in small chunks through a bounded
+ * queue to the thread that called {@link #load(DoubleConsumer)}, which passes them on to the
+ * sink of their {@link Target}. At most a few chunks are in flight at any moment, so no full
+ * intermediate copy of a file is ever kept in memory.
+ *
+ * The checksum of the snapshot is verified in a first, cheap pass, so a damaged snapshot fails
+ * the load before anything is delivered. JSON files have no checksum: a malformed file fails
+ * the load once it is reached, after the objects before it have been delivered.
+ *
+ * Journal entries (see {@link DataJournal}) are merged in while streaming: an object
+ * whose id appears in the overlay of its target is replaced by the journaled version
+ * (or dropped, if it was deleted), and journaled objects not found in the file are
+ * delivered at the end.
+ *
+ * All files share one {@link EntityIdPool}, so a foreign key is loaded as the same id
+ * instance as the id of the object it refers to.
+ */
+class DataLoader {
+    private static final int CHUNK_SIZE = 5_000;
+    private static final int MAX_CHUNKS_IN_FLIGHT = 8;
+
+    private final ObjectMapper mapper;
+    private final EntityIdPool ids = new EntityIdPool();
+    private final List<Producer> producers = new ArrayList<>();
+    private final AtomicLong bytesRead = new AtomicLong();
+    private final BlockingQueue<Chunk> queue = new ArrayBlockingQueue<>(MAX_CHUNKS_IN_FLIGHT);
+
+    DataLoader(ObjectMapper mapper) {
+        this.mapper = mapper;
+    }
+
+    /**
+     * Describes where the loaded objects of one type go.
+     *
+     * @param type    the class of the objects
+     * @param idOf    returns the id of an object
+     * @param overlay journaled versions by id ({@code null} value = deleted); consumed by the load
+     * @param sink    receives the loaded objects, chunk by chunk, on the loading thread
+     */
+    <T> Target<T> target(Class<T> type, Function<T, EntityId> idOf,
+                         Map<EntityId, JsonNode> overlay, Consumer<List<T>> sink) {
+        return new Target<>(type, idOf, overlay, sink);
+    }
+
+    /**
+     * Registers a JSON file to load.
+     *
+     * @param file   the JSON file (an array of objects); a missing file counts as empty
+     * @param target where its objects go
+     */
+    void addJsonFile(File file, Target<?> target) {
+        producers.add(new JsonFile<>(file, target));
+    }
+
+    /**
+     * Registers a binary snapshot to load; it holds the objects of all four targets.
+     *
+     * @param file the snapshot; a missing file counts as empty
+     */
+    void addSnapshot(File file, Target<Category> categories, Target<Priority> priorities,
+                     Target<Task> tasks, Target<Reminder> reminders) {
+        producers.add(new SnapshotFile(file, categories, priorities, tasks, reminders));
+    }
+
+    /**
+     * Loads all registered files and blocks until every object has been delivered.
+     *
+     * @param progress receives the fraction of bytes read so far (0..1), at most once per percent
+     * @throws IOException if any of the files cannot be read
+     */
+    void load(DoubleConsumer progress) throws IOException {
+        long totalBytes = 0;
+        int expectedIds = 0;
+        for (Producer producer : producers) {
+            totalBytes += producer.file.exists() ? producer.file.length() : 0;
+            expectedIds += producer.expectedIds();
+        }
+        ids.expect(expectedIds);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, producers.size()), r -> {
+            Thread t = new Thread(r, "medialab-loader");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            for (Producer producer : producers) {
+                executor.execute(() -> {
+                    try {
+                        producer.produce();
+                        queue.put(new Chunk(producer, null, null, null));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (Exception e) {
+                        try {
+                            queue.put(new Chunk(producer, null, null, e));
+                        } catch (InterruptedException ie) {
+                            Thread.currentThread().interrupt();
+                        }
+                    }
+                });
+            }
+
+            int running = producers.size();
+            int lastPercent = -1;
+            while (running > 0) {
+                Chunk chunk = queue.take();
+                if (chunk.error != null) {
+                    throw new IOException("Could not load " + chunk.producer.file, chunk.error);
+                }
+                if (chunk.items == null) {
+                    running--;
+                } else {
+                    chunk.target.deliver(chunk.items);
+                }
+                int percent = totalBytes == 0 ? 100 : (int) (bytesRead.get() * 100 / totalBytes);
+                if (percent != lastPercent) {
+                    lastPercent = percent;
+                    progress.accept(Math.min(percent, 100) / 100.0);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Loading was interrupted", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * A message from a producer: a chunk of objects for a target, an end marker
+     * (items == null) or a failure (error != null).
+     */
+    private record Chunk(Producer producer, Target<?> target, List<?> items, Exception error) {
+    }
+
+    /**
+     * The journaled versions and the sink of the objects of one type.
+     */
+    final class Target<T> {
+        private final ObjectReader reader;
+        private final Function<T, EntityId> idOf;
+        private final Map<EntityId, JsonNode> overlay;
+        private final Consumer<List<T>> sink;
+
+        private Target(Class<T> type, Function<T, EntityId> idOf,
+                       Map<EntityId, JsonNode> overlay, Consumer<List<T>> sink) {
+            this.reader = mapper.readerFor(type).withAttribute(EntityIdPool.class, ids);
+            this.idOf = idOf;
+            this.overlay = overlay;
+            this.sink = sink;
+        }
+
+        /**
+         * @return the object read from the file, its journaled version,
+         *         or null if it was deleted after the file was written
+         */
+        private T merge(T item) throws IOException {
+            EntityId id = idOf.apply(item);
+            if (!overlay.containsKey(id)) return item;
+            JsonNode journaled = overlay.remove(id);
+            return (journaled != null) ? reader.readValue(journaled) : null;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void deliver(List<?> items) {
+            sink.accept((List<T>) items);
+        }
+    }
+
+    /**
+     * Streams a file on a loader thread and queues its chunks.
+     */
+    private abstract class Producer {
+        final File file;
+
+        Producer(File file) {
+            this.file = file;
+        }
+
+        abstract void produce() throws IOException, InterruptedException;
+
+        /**
+         * @return how many ids the file holds, if that is known before reading it; 0 otherwise
+         */
+        int expectedIds() throws IOException {
+            return 0;
+        }
+
+        void send(Target<?> target, List<?> items) throws InterruptedException {
+            queue.put(new Chunk(this, target, items, null));
+        }
+
+        /**
+         * Queues the last chunk of a target, followed by its journaled objects that were
+         * not in the file (created after the file was written).
+         */
+        <T> void finish(Target<T> target, List<T> chunk) throws IOException, InterruptedException {
+            for (JsonNode journaled : target.overlay.values()) {
+                if (journaled == null) continue;
+                chunk.add(target.reader.readValue(journaled));
+                if (chunk.size() == CHUNK_SIZE) {
+                    send(target, chunk);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            target.overlay.clear();
+            if (!chunk.isEmpty()) {
+                send(target, chunk);
+            }
+        }
+    }
+
+    /**
+     * A JSON file holding an array of objects of one type.
+     */
+    private class JsonFile<T> extends Producer {
+        private final Target<T> target;
+
+        JsonFile(File file, Target<T> target) {
+            super(file);
+            this.target = target;
+        }
+
+        @Override
+        void produce() throws IOException, InterruptedException {
+            List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+            if (file.exists()) {
+                try (JsonParser parser = mapper.getFactory().createParser(file)) {
+                    long reported = 0;
+                    if (parser.nextToken() != JsonToken.START_ARRAY) {
+                        throw new IOException("Expected a JSON array in " + file);
+                    }
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        T item = target.merge(target.reader.readValue(parser));
+                        if (item == null) continue; // deleted after the snapshot
+                        chunk.add(item);
+                        if (chunk.size() == CHUNK_SIZE) {
+                            long offset = parser.currentLocation().getByteOffset();
+                            bytesRead.addAndGet(offset - reported);
+                            reported = offset;
+                            send(target, chunk);
+                            chunk = new ArrayList<>(CHUNK_SIZE);
+                        }
+                    }
+                    bytesRead.addAndGet(file.length() - reported);
+                }
+            }
+            finish(target, chunk);
+        }
+    }
+
+    /**
+     * A binary snapshot, holding the objects of all four types one section after the other.
+     */
+    private class SnapshotFile extends Producer {
+        private final Target<Category> categories;
+        private final Target<Priority> priorities;
+        private final Target<Task> tasks;
+        private final Target<Reminder> reminders;
+        // Progress is reported per record, as a share of the file size
+        private long recordsRead;
+        private long totalRecords;
+        private long reported;
+
+        SnapshotFile(File file, Target<Category> categories, Target<Priority> priorities,
+                     Target<Task> tasks, Target<Reminder> reminders) {
+            super(file);
+            this.categories = categories;
+            this.priorities = priorities;
+            this.tasks = tasks;
+            this.reminders = reminders;
+        }
+
+        @Override
+        int expectedIds() throws IOException {
+            // The header counts the records; each one brings one new id
+            return file.exists() ? BinarySnapshot.recordCount(file) : 0;
+        }
+
+        @Override
+        void produce() throws IOException, InterruptedException {
+            if (!file.exists()) {
+                finish(categories, new ArrayList<>());
+                finish(priorities, new ArrayList<>());
+                finish(tasks, new ArrayList<>());
+                finish(reminders, new ArrayList<>());
+                return;
+            }
+            // Checked before any record reaches a sink: a damaged file delivers nothing
+            BinarySnapshot.verify(file);
+            try (BinarySnapshot.Reader reader = new BinarySnapshot.Reader(file, ids)) {
+                for (BinarySnapshot.Reader.Section section : BinarySnapshot.Reader.Section.values()) {
+                    totalRecords += reader.count(section);
+                }
+                readSection(reader, BinarySnapshot.Reader.Section.CATEGORIES, categories, BinarySnapshot.Reader::readCategory);
+                readSection(reader, BinarySnapshot.Reader.Section.PRIORITIES, priorities, BinarySnapshot.Reader::readPriority);
+                readSection(reader, BinarySnapshot.Reader.Section.TASKS, tasks, BinarySnapshot.Reader::readTask);
+                readSection(reader, BinarySnapshot.Reader.Section.REMINDERS, reminders, BinarySnapshot.Reader::readReminder);
+                reader.finish();
+            }
+            bytesRead.addAndGet(file.length() - reported);
+        }
+
+        private <T> void readSection(BinarySnapshot.Reader reader, BinarySnapshot.Reader.Section section,
+                                     Target<T> target, RecordReader<T> read) throws IOException, InterruptedException {
+            List<T> chunk = new ArrayList<>(CHUNK_SIZE);
+            int count = reader.count(section);
+            for (int i = 0; i < count; i++) {
+                T item = target.merge(read.read(reader));
+                recordsRead++;
+                if (item == null) continue; // deleted after the snapshot
+                chunk.add(item);
+                if (chunk.size() == CHUNK_SIZE) {
+                    long offset = file.length() * recordsRead / totalRecords;
+                    bytesRead.addAndGet(offset - reported);
+                    reported = offset;
+                    send(target, chunk);
+                    chunk = new ArrayList<>(CHUNK_SIZE);
+                }
+            }
+            finish(target, chunk);
+        }
+    }
+
+    private interface RecordReader<T> {
+        T read(BinarySnapshot.Reader reader) throws IOException;
+    }
+}
@@ -1,130 +1,653 @@
 package com.taskmanagementsystem;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import javafx.collections.FXCollections;
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.DoubleConsumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import com.taskmanagementsystem.Category;
 
 /**
  * Central class that manages all categories, priorities, tasks, and reminders.
  *
- * Provides methods to load/save JSON files, create/update/delete objects,
+ * Provides methods to load/save the data files, create/update/delete objects,
  * and handle rules like:
  *  - Deleting tasks when a category is removed
  *  - Reassigning "Default" priority if a priority is removed
  *  - Checking and updating "Delayed" tasks if their deadline is passed
+ *
+ * All methods can be called from any thread. The ObservableLists returned by the
+ * getObservable* methods are read-only mirrors for the UI: they change on the JavaFX thread,
+ * right after a change made on that thread or in a batch shortly after changes made on others.
  */
 
  /**
      * Default constructor.
      * Initializes an empty DataManager instance.
-     * Data is loaded from JSON files using {@link #loadAllData()}.
+     * Data is loaded from the "medialab" folder using {@link #loadAllData()}.
      */
 public class DataManager {
     private static final String MEDIALAB_FOLDER = "medialab";
-    private static final String CATEGORIES_FILE = MEDIALAB_FOLDER + "/categories.json";
-    private static final String PRIORITIES_FILE = MEDIALAB_FOLDER + "/priorities.json";
-    private static final String TASKS_FILE = MEDIALAB_FOLDER + "/tasks.json";
-    private static final String REMINDERS_FILE = MEDIALAB_FOLDER + "/reminders.json";
+    private static final String SNAPSHOT_FILE = "snapshot.bin";
+    // JSON files, for import/export and the folders of older versions
+    private static final String CATEGORIES_JSON = "categories.json";
+    private static final String PRIORITIES_JSON = "priorities.json";
+    private static final String TASKS_JSON = "tasks.json";
+    private static final String REMINDERS_JSON = "reminders.json";
+    private static final String[] JSON_FILES = { CATEGORIES_JSON, PRIORITIES_JSON, TASKS_JSON, REMINDERS_JSON };
+    private static final String JOURNAL_FILE = "journal.log";
+
+    // The folder of the data files ("medialab") and the snapshot in it
+    private final File folder;
+    private final File snapshotFile;
+
+    // The journal is compacted into the snapshot once it holds at least this many entries
+    // (or as many entries as there are objects, whichever is larger)
+    private static final int CHECKPOINT_MIN_ENTRIES = 1000;
+
+    private final ObjectMapper mapper = createMapper();
+    private final DataJournal journal;
+
+    // Compacts the journal into the snapshot on a background thread; only one
+    // checkpoint (background or explicit) is written at a time
+    private final CheckpointWriter checkpointWriter = new CheckpointWriter(this::checkpoint);
+    private final Object checkpointMonitor = new Object();
+    // Why the last load failed, if it did: the lists may then hold only part of the files,
+    // so no checkpoint may replace them (or drop the journal) until a load succeeds
+    private volatile IOException loadFailure;
+
+    // Guards the lists and the indexes below: writers take the write lock, searches a read lock
+    // and short lookups an optimistic read. The lock is not reentrant, so public methods take it
+    // once and private helpers assume it is held.
+    private final StampedLock lock = new StampedLock();
+    // The thread holding the write lock; its nested calls (inside batch()) do not lock again
+    private volatile Thread writeOwner;
+    // Taken before the write lock is released and held while the operation is published, so
+    // operations reach the UI in the order they ran
+    private final Object publishOrder = new Object();
+    // Set during batch(): the journal is flushed once, at the end of the batch
+    private boolean inBatch;
+
+    // The core lists; changed on any thread, under the write lock
+    private final ObservableList<Category> categories = new BulkObservableList<>();
+    private final ObservableList<Priority> priorities = new BulkObservableList<>();
+    private final ObservableList<Task> tasks = new BulkObservableList<>();
+    private final ObservableList<Reminder> reminders = new BulkObservableList<>();
+
+    // Read-only mirrors of the core lists for the UI, changed only on the JavaFX thread
+    private final FxBridge fxBridge = new FxBridge();
+    private final ObservableList<Category> categoriesView;
+    private final ObservableList<Priority> prioritiesView;
+    private final ObservableList<Task> tasksView;
+    private final ObservableList<Reminder> remindersView;
+
+    // ID -> object indexes, kept in sync with the lists above by list listeners;
+    // concurrent maps, so lookups by id need no lock
+    private final Map<EntityId, Category> categoriesById = new ConcurrentHashMap<>();
+    private final Map<EntityId, Priority> prioritiesById = new ConcurrentHashMap<>();
+    private final Map<EntityId, Task> tasksById = new ConcurrentHashMap<>();
+    private final Map<EntityId, Reminder> remindersById = new ConcurrentHashMap<>();
+    // The same tasks sorted by id: the stable order of paged search results
+    private final NavigableMap<EntityId, Task> tasksInIdOrder = new TreeMap<>();
+
+    // Secondary indexes: category id (null => no category) / priority id -> tasks
+    private final IndexMultimap<EntityId, Task> tasksByCategory = new IndexMultimap<>();
+    private final IndexMultimap<EntityId, Task> tasksByPriority = new IndexMultimap<>();
+    private final IndexMultimap<EntityId, Reminder> remindersByTask = new IndexMultimap<>();
+
+    // Deadline -> tasks with that deadline (tasks without deadline are not indexed)
+    private final NavigableMap<LocalDate, Set<Task>> tasksByDeadline = new TreeMap<>();
+
+    // Bitmaps of task ordinals per status / category / priority, for filtering and facet counts
+    private final TaskFacetIndex facets = new TaskFacetIndex();
+
+    // Words of titles and descriptions -> tasks, for full-text search
+    private final TaskSearchIndex searchIndex = new TaskSearchIndex();
+
+    // Chooses the index used by searchTasks(TaskQuery)
+    private final TaskQueryPlanner queryPlanner =
+            new TaskQueryPlanner(tasks, facets, tasksByDeadline, tasksInIdOrder, searchIndex);
+
+    // Fires the pending reminders when their date arrives
+    private final ReminderScheduler reminderScheduler = new ReminderScheduler();
+
+    // Changes of the current operation, delivered to the change listeners when it ends
+    private final DataChangeLog changeLog = new DataChangeLog();
+    private final List<DataChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+
+    // Tasks with a deadline before this date have already been checked for DELAYED
+    private LocalDate delayedCheckedUntil;
+
+    // Live counters for the summary bar, kept up to date by the task observer
+    // and published to the properties below after every write
+    private static final int DUE_SOON_DAYS = 7;
+    private final int[] statusCountValues = new int[TaskStatus.values().length];
+    private int dueSoonValue;
+    private final ReadOnlyIntegerWrapper totalTasks = new ReadOnlyIntegerWrapper(this, "totalTasks");
+    private final Map<TaskStatus, ReadOnlyIntegerWrapper> statusCounts = new EnumMap<>(TaskStatus.class);
+    private final ReadOnlyIntegerWrapper dueSoonCount = new ReadOnlyIntegerWrapper(this, "dueSoonCount");
+    // "Due soon" = not completed, deadline within [dueSoonFrom, dueSoonTo]
+    private LocalDate dueSoonFrom;
+    private LocalDate dueSoonTo;
+
+    // Shared by all tasks in the list
+    private final Task.Observer taskObserver = new Task.Observer() {
+        @Override
+        public void categoryIdChanged(Task task, EntityId oldId, EntityId newId) {
+            tasksByCategory.remove(oldId, task);
+            tasksByCategory.put(newId, task);
+            facets.categoryChanged(task, oldId, newId);
+            changeLog.updated(DataChangeEvent.EntityType.TASK, task, DataChangeEvent.Field.CATEGORY);
+        }
+
+        @Override
+        public void priorityIdChanged(Task task, EntityId oldId, EntityId newId) {
+            tasksByPriority.remove(oldId, task);
+            tasksByPriority.put(newId, task);
+            facets.priorityChanged(task, oldId, newId);
+            changeLog.updated(DataChangeEvent.EntityType.TASK, task, DataChangeEvent.Field.PRIORITY);
+        }
+
+        @Override
+        public void deadlineChanged(Task task, LocalDate oldDeadline, LocalDate newDeadline) {
+            unindexDeadline(oldDeadline, task);
+            indexDeadline(newDeadline, task);
+            if (isDueSoon(oldDeadline, task.getStatus())) dueSoonValue--;
+            if (isDueSoon(newDeadline, task.getStatus())) dueSoonValue++;
+            changeLog.updated(DataChangeEvent.EntityType.TASK, task, DataChangeEvent.Field.DEADLINE);
+        }
+
+        @Override
+        public void titleChanged(Task task, String oldTitle, String newTitle) {
+            searchIndex.titleChanged(task, oldTitle, newTitle);
+            changeLog.updated(DataChangeEvent.EntityType.TASK, task, DataChangeEvent.Field.TITLE);
+        }
+
+        @Override
+        public void descriptionChanged(Task task, String oldDesc, String newDesc) {
+            searchIndex.descriptionChanged(task, oldDesc, newDesc);
+            changeLog.updated(DataChangeEvent.EntityType.TASK, task, DataChangeEvent.Field.DESCRIPTION);
+        }
+
+        @Override
+        public void statusChanged(Task task, TaskStatus oldStatus, TaskStatus newStatus) {
+            adjustStatusCount(oldStatus, -1);
+            adjustStatusCount(newStatus, 1);
+            facets.statusChanged(task, oldStatus, newStatus);
+            if (isDueSoon(task.getDeadline(), oldStatus)) dueSoonValue--;
+            if (isDueSoon(task.getDeadline(), newStatus)) dueSoonValue++;
+            changeLog.updated(DataChangeEvent.EntityType.TASK, task, DataChangeEvent.Field.STATUS);
+        }
+    };
+    // Shared by all reminders of the list
+    private final Reminder.Observer reminderObserver = new Reminder.Observer() {
+        @Override
+        public void taskIdChanged(Reminder reminder, EntityId oldId, EntityId newId) {
+            remindersByTask.remove(oldId, reminder);
+            remindersByTask.put(newId, reminder);
+            changeLog.updated(DataChangeEvent.EntityType.REMINDER, reminder, DataChangeEvent.Field.TASK);
+        }
 
-    // Using ObservableList for live updates in the UI
-    private final ObservableList<Category> categories = FXCollections.observableArrayList();
-    private final ObservableList<Priority> priorities = FXCollections.observableArrayList();
-    private final ObservableList<Task> tasks = FXCollections.observableArrayList();
-    private final ObservableList<Reminder> reminders = FXCollections.observableArrayList();
+        @Override
+        public void reminderDateChanged(Reminder reminder, LocalDate oldDate, LocalDate newDate) {
+            if (!reminder.isNotified()) {
+                reminderScheduler.schedule(reminder);
+            }
+            changeLog.updated(DataChangeEvent.EntityType.REMINDER, reminder, DataChangeEvent.Field.REMINDER_DATE);
+        }
+    };
 
     // We'll store the ID of the "Default" priority for easy reference
-    private String defaultPriorityId;
+    private volatile EntityId defaultPriorityId;
 
     /**
      * Default constructor.
      * Lists are loaded via loadAllData().
      */
     public DataManager() {
+        this(new File(MEDIALAB_FOLDER));
+    }
+
+    /**
+     * Creates a DataManager whose files live in the given folder instead of "medialab".
+     *
+     * @param folder the folder of the snapshot and the journal; created when first written to
+     */
+    DataManager(File folder) {
+        this.folder = folder;
+        this.snapshotFile = new File(folder, SNAPSHOT_FILE);
+        this.journal = new DataJournal(new File(folder, JOURNAL_FILE), mapper);
+        for (TaskStatus status : TaskStatus.values()) {
+            statusCounts.put(status, new ReadOnlyIntegerWrapper(this, status.name()));
+        }
+        setDueSoonWindow(LocalDate.now());
+        indexById(categories, categoriesById, Category::getId);
+        indexById(priorities, prioritiesById, Priority::getId);
+        indexById(tasks, tasksById, Task::getId);
+        indexById(tasks, tasksInIdOrder, Task::getId);
+        indexById(reminders, remindersById, Reminder::getId);
+        categories.addListener((ListChangeListener<Category>) change -> {
+            while (change.next()) {
+                if (change.wasPermutated() || change.wasUpdated()) continue;
+                change.getRemoved().forEach(c -> c.setManaged(false));
+                change.getAddedSubList().forEach(c -> {
+                    c.setManaged(true);
+                    facets.addCategory(c.getId());
+                });
+            }
+        });
+        priorities.addListener((ListChangeListener<Priority>) change -> {
+            while (change.next()) {
+                if (change.wasPermutated() || change.wasUpdated()) continue;
+                change.getRemoved().forEach(p -> p.setManaged(false));
+                change.getAddedSubList().forEach(p -> {
+                    p.setManaged(true);
+                    facets.addPriority(p.getId());
+                });
+            }
+        });
+        recordListChanges(categories, DataChangeEvent.EntityType.CATEGORY);
+        recordListChanges(priorities, DataChangeEvent.EntityType.PRIORITY);
+        recordListChanges(tasks, DataChangeEvent.EntityType.TASK);
+        recordListChanges(reminders, DataChangeEvent.EntityType.REMINDER);
+        tasks.addListener(this::onTasksChanged);
+        reminders.addListener(this::onRemindersChanged);
+        // Registered last: when the UI sees a change, the indexes already reflect it
+        categoriesView = fxBridge.mirror(categories);
+        prioritiesView = fxBridge.mirror(priorities);
+        tasksView = fxBridge.mirror(tasks);
+        remindersView = fxBridge.mirror(reminders);
     }
 
     // ---------------------------------------------------------------
-    // Load / Save JSON
+    // Load / Save
     // ---------------------------------------------------------------
 
     /**
      * Loads all data (categories, priorities, tasks, reminders)
-     * from JSON files in the "medialab" folder.
-     * If a file does not exist, it starts with an empty list for that file.
+     * from the binary snapshot in the "medialab" folder, then replays the journal
+     * of changes made after the last checkpoint on top of it.
+     * If there is no snapshot, it starts with empty lists.
+     *
+     * A folder written by an older version holds JSON files instead of the snapshot: they are
+     * loaded, written as a snapshot right away and renamed to *.json.bak.
+     *
+     * @throws IOException if the files could not be read completely. The lists then hold what
+     *                     was read, if anything, and no checkpoint is written until a later load
+     *                     (or {@link #importJson(File)}) succeeds, so the files stay as they are.
      */
-    public void loadAllData() {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-
-        File catFile = new File(CATEGORIES_FILE);
-        File prioFile = new File(PRIORITIES_FILE);
-        File taskFile = new File(TASKS_FILE);
-        File remFile = new File(REMINDERS_FILE);
-
-        try {
-            List<Category> loadedCategories = new ArrayList<>();
-            List<Priority> loadedPriorities = new ArrayList<>();
-            List<Task> loadedTasks = new ArrayList<>();
-            List<Reminder> loadedReminders = new ArrayList<>();
+    public void loadAllData() throws IOException {
+        loadAllData(progress -> { });
+    }
 
-            if (catFile.exists()) {
-                loadedCategories = mapper.readValue(catFile, new TypeReference<>() {});
+    /**
+     * Loads all data like {@link #loadAllData()}, reporting the progress.
+     *
+     * The file is streamed and every chunk of it is added to the lists as an operation of its
+     * own, so the write lock is released between chunks and the UI (the mirrored lists and the
+     * counters) follows the load as it goes. Operations running meanwhile see the data loaded
+     * so far; checkpoints wait until the load is complete.
+     *
+     * @param progress receives the fraction of the files read so far (0..1)
+     * @throws IOException if the files could not be read completely (see {@link #loadAllData()})
+     */
+    public void loadAllData(DoubleConsumer progress) throws IOException {
+        boolean migrate = !snapshotFile.exists() && hasJsonFiles(folder);
+        // A checkpoint of a partly loaded state would replace the snapshot being read
+        synchronized (checkpointMonitor) {
+            // Journaled changes by id (null value => deleted), merged in while streaming
+            Map<DataJournal.EntityType, Map<EntityId, JsonNode>> overlays = new EnumMap<>(DataJournal.EntityType.class);
+            for (DataJournal.EntityType type : DataJournal.EntityType.values()) {
+                overlays.put(type, new LinkedHashMap<>());
             }
-            if (prioFile.exists()) {
-                loadedPriorities = mapper.readValue(prioFile, new TypeReference<>() {});
+            IOException failure = writeLockedValue(() -> {
+                changeLog.reloaded();
+                categories.clear();
+                priorities.clear();
+                tasks.clear();
+                reminders.clear();
+                try {
+                    journal.replay(new DataJournal.Replayer() {
+                        @Override
+                        public void put(DataJournal.EntityType type, JsonNode data) {
+                            overlays.get(type).put(EntityId.parse(data.get("id").asText()), data);
+                        }
+
+                        @Override
+                        public void delete(DataJournal.EntityType type, EntityId id) {
+                            overlays.get(type).put(id, null);
+                        }
+                    });
+                    return null;
+                } catch (IOException e) {
+                    return e;
+                }
+            });
+
+            if (failure == null) {
+                try {
+                    loadFiles(folder, migrate, overlays, progress);
+                } catch (IOException e) {
+                    failure = e;
+                }
             }
-            if (taskFile.exists()) {
-                loadedTasks = mapper.readValue(taskFile, new TypeReference<>() {});
+            loadFailure = failure;
+
+            writeLocked(() -> {
+                changeLog.reloaded();
+                ensureDefaultPriorityExists();
+                updateDelayedTasks();
+            });
+            if (failure != null) {
+                throw new IOException("Could not load the data of " + folder
+                        + "; its files are left as they are", failure);
             }
-            if (remFile.exists()) {
-                loadedReminders = mapper.readValue(remFile, new TypeReference<>() {});
+            if (migrate) {
+                migrateToSnapshot(folder);
             }
+        }
+    }
+
+    /**
+     * Streams the snapshot, or the JSON files of an older version, into the lists.
+     */
+    private void loadFiles(File folder, boolean fromJson, Map<DataJournal.EntityType, Map<EntityId, JsonNode>> overlays,
+                           DoubleConsumer progress) throws IOException {
+        DataLoader loader = new DataLoader(mapper);
+        DataLoader.Target<Category> categoryTarget = loader.target(Category.class, Category::getId,
+                overlays.get(DataJournal.EntityType.CATEGORY), chunk -> addLoaded(categories, chunk));
+        DataLoader.Target<Priority> priorityTarget = loader.target(Priority.class, Priority::getId,
+                overlays.get(DataJournal.EntityType.PRIORITY), chunk -> addLoaded(priorities, chunk));
+        DataLoader.Target<Task> taskTarget = loader.target(Task.class, Task::getId,
+                overlays.get(DataJournal.EntityType.TASK), chunk -> addLoaded(tasks, chunk));
+        DataLoader.Target<Reminder> reminderTarget = loader.target(Reminder.class, Reminder::getId,
+                overlays.get(DataJournal.EntityType.REMINDER), chunk -> addLoaded(reminders, chunk));
+        if (fromJson) {
+            addJsonFiles(loader, folder, categoryTarget, priorityTarget, taskTarget, reminderTarget);
+        } else {
+            loader.addSnapshot(snapshotFile, categoryTarget, priorityTarget, taskTarget, reminderTarget);
+        }
+        loader.load(progress);
+    }
+
+    /**
+     * Adds a chunk of loaded objects to a list, as one operation reported as a reload
+     * (rather than one event per object).
+     */
+    private <T> void addLoaded(ObservableList<T> list, List<T> chunk) {
+        writeLocked(() -> {
+            changeLog.reloaded();
+            list.addAll(chunk);
+        });
+    }
 
-            categories.setAll(loadedCategories);
-            priorities.setAll(loadedPriorities);
-            tasks.setAll(loadedTasks);
-            reminders.setAll(loadedReminders);
+    /**
+     * Makes sure all data is stored in the "medialab" folder.
+     * Every change is already appended to the journal when it happens, so this does not
+     * write anything new: it waits for a checkpoint in progress, if any, and closes the journal.
+     */
+    public void saveAllData() {
+        requireNotInBatch("saveAllData");
+        checkpointWriter.awaitIdle();
+        writeLocked(journal::close);
+    }
 
+    /**
+     * Writes all data (categories, priorities, tasks, reminders) into the binary snapshot
+     * in the "medialab" folder and drops the journal entries it contains.
+     * The snapshot is written to a temporary file first and then moved into place,
+     * so a crash never leaves a half-written snapshot behind.
+     *
+     * Only copying the lists holds the lock; the file is written without it, so other
+     * threads keep reading and changing the data meanwhile. Those changes go to a fresh
+     * journal, which is replayed on top of this checkpoint.
+     */
+    public void checkpoint() {
+        requireNotInBatch("checkpoint");
+        try {
+            writeCheckpoint();
         } catch (IOException e) {
+            // The rotated journal is kept and becomes part of the next checkpoint
             e.printStackTrace();
         }
-
-        ensureDefaultPriorityExists();
-        updateDelayedTasks();
     }
 
-     /**
-     * Saves all data (categories, priorities, tasks, reminders)
-     * into separate JSON files in the "medialab" folder.
+    /**
+     * Writes all data as JSON files (categories.json, priorities.json, tasks.json and
+     * reminders.json, the format of older versions) into the given folder.
+     * Only copying the lists holds the lock.
      *
-     * @throws IOException if there is an issue writing to a file.
+     * @param folder the folder to write to; created if needed
+     * @throws IOException if a file cannot be written
      */
-    public void saveAllData() {
-        ObjectMapper mapper = new ObjectMapper();
-        mapper.registerModule(new JavaTimeModule());
-        mapper.enable(SerializationFeature.INDENT_OUTPUT);
+    public void exportJson(File folder) throws IOException {
+        Snapshot snapshot = readLocked(() -> new Snapshot(categories.toArray(), priorities.toArray(),
+                tasks.toArray(), reminders.toArray()));
+        if (!folder.isDirectory() && !folder.mkdirs()) {
+            throw new IOException("Cannot create folder " + folder);
+        }
+        writeJson(new File(folder, CATEGORIES_JSON), snapshot.categories());
+        writeJson(new File(folder, PRIORITIES_JSON), snapshot.priorities());
+        writeJson(new File(folder, TASKS_JSON), snapshot.tasks());
+        writeJson(new File(folder, REMINDERS_JSON), snapshot.reminders());
+    }
 
+    /**
+     * Replaces all data with the contents of JSON files written by {@link #exportJson(File)}
+     * (or by an older version), then writes a checkpoint. Missing files count as empty.
+     * The files are read before the lock is taken; if one of them cannot be read,
+     * the data is left as it was.
+     *
+     * The imported data is not journaled: it is stored only by the checkpoint. If that fails,
+     * the data stays imported in memory, another checkpoint is requested in the background,
+     * and the failure is reported to the caller.
+     *
+     * @param folder the folder holding the JSON files
+     * @throws IOException if a file cannot be read, or the imported data cannot be stored
+     */
+    public void importJson(File folder) throws IOException {
+        requireNotInBatch("importJson");
+        List<Category> newCategories = new ArrayList<>();
+        List<Priority> newPriorities = new ArrayList<>();
+        List<Task> newTasks = new ArrayList<>();
+        List<Reminder> newReminders = new ArrayList<>();
+        DataLoader loader = new DataLoader(mapper);
+        addJsonFiles(loader, folder,
+                loader.target(Category.class, Category::getId, new HashMap<>(), newCategories::addAll),
+                loader.target(Priority.class, Priority::getId, new HashMap<>(), newPriorities::addAll),
+                loader.target(Task.class, Task::getId, new HashMap<>(), newTasks::addAll),
+                loader.target(Reminder.class, Reminder::getId, new HashMap<>(), newReminders::addAll));
+        loader.load(progress -> { });
+
+        writeLocked(() -> {
+            changeLog.reloaded();
+            categories.setAll(newCategories);
+            priorities.setAll(newPriorities);
+            tasks.setAll(newTasks);
+            reminders.setAll(newReminders);
+            ensureDefaultPriorityExists();
+            updateDelayedTasks();
+        });
+        // The imported data replaces whatever a failed load left behind
+        loadFailure = null;
+        // The journal does not hold the imported data
         try {
-            File folder = new File(MEDIALAB_FOLDER);
+            writeCheckpoint();
+        } catch (IOException e) {
+            checkpointWriter.request();
+            throw new IOException("The imported data could not be stored in " + snapshotFile, e);
+        }
+    }
+
+    /**
+     * Writes the snapshot (see {@link #checkpoint()}).
+     *
+     * @throws IOException if the last load failed (see {@link #loadAllData()}), or the journal
+     *                     cannot be rotated or the snapshot cannot be written; the journal
+     *                     still holds every change (a rotated one is kept and becomes part of
+     *                     the next checkpoint)
+     */
+    private void writeCheckpoint() throws IOException {
+        synchronized (checkpointMonitor) {
+            if (loadFailure != null) {
+                throw new IOException("Not writing " + snapshotFile + ": the data was not loaded completely", loadFailure);
+            }
+            Snapshot snapshot;
+            try {
+                snapshot = writeLockedValue(() -> {
+                    try {
+                        journal.rotate();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return new Snapshot(categories.toArray(), priorities.toArray(),
+                            tasks.toArray(), reminders.toArray());
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
             if (!folder.exists()) {
-                folder.mkdir();
+                folder.mkdirs();
             }
 
-            mapper.writeValue(new File(CATEGORIES_FILE), new ArrayList<>(categories));
-            mapper.writeValue(new File(PRIORITIES_FILE), new ArrayList<>(priorities));
-            mapper.writeValue(new File(TASKS_FILE), new ArrayList<>(tasks));
-            mapper.writeValue(new File(REMINDERS_FILE), new ArrayList<>(reminders));
+            File tmp = new File(snapshotFile.getPath() + ".tmp");
+            BinarySnapshot.write(tmp, snapshot.categories(), snapshot.priorities(),
+                    snapshot.tasks(), snapshot.reminders());
+            Files.move(tmp.toPath(), snapshotFile.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            // The rename itself must be on the disk before the journal it replaces is dropped
+            forceDirectory(folder);
+
+            journal.dropRotated();
+        }
+    }
+
+    /**
+     * The contents of the lists at the start of a checkpoint or an export.
+     */
+    private record Snapshot(Object[] categories, Object[] priorities, Object[] tasks, Object[] reminders) {
+    }
 
+    private static boolean hasJsonFiles(File folder) {
+        for (String name : JSON_FILES) {
+            if (new File(folder, name).exists()) return true;
+        }
+        return false;
+    }
+
+    private static void addJsonFiles(DataLoader loader, File folder,
+                                     DataLoader.Target<Category> categories, DataLoader.Target<Priority> priorities,
+                                     DataLoader.Target<Task> tasks, DataLoader.Target<Reminder> reminders) {
+        loader.addJsonFile(new File(folder, CATEGORIES_JSON), categories);
+        loader.addJsonFile(new File(folder, PRIORITIES_JSON), priorities);
+        loader.addJsonFile(new File(folder, TASKS_JSON), tasks);
+        loader.addJsonFile(new File(folder, REMINDERS_JSON), reminders);
+    }
+
+    /**
+     * Writes the data just loaded from the JSON files of the folder as the binary snapshot,
+     * then renames the JSON files to *.json.bak, so that they are not taken for current data.
+     * If the snapshot cannot be written, the JSON files stay and the migration is retried
+     * on the next load.
+     */
+    private void migrateToSnapshot(File folder) {
+        try {
+            writeCheckpoint();
         } catch (IOException e) {
             e.printStackTrace();
+            return;
+        }
+        for (String name : JSON_FILES) {
+            File json = new File(folder, name);
+            if (!json.exists()) continue;
+            try {
+                Files.move(json.toPath(), new File(folder, name + ".bak").toPath(),
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    // ---------------------------------------------------------------
+    // Change events
+    // ---------------------------------------------------------------
+
+    /**
+     * Registers a listener for the changes made through this DataManager
+     * (tasks added, removed or edited, categories renamed, and so on).
+     * Unlike a listener on the ObservableLists, it also learns which fields of an entity changed,
+     * so a view can update just the affected rows.
+     *
+     * @param listener called once per operation, on the JavaFX thread
+     */
+    public void addChangeListener(DataChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(DataChangeListener listener) {
+        changeListeners.remove(listener);
+    }
+
+    // ---------------------------------------------------------------
+    // Batches
+    // ---------------------------------------------------------------
+
+    /**
+     * Runs many operations (creates, updates, deletes, lookups) as one.
+     * The operations call the methods of this DataManager as usual, on the calling thread:
+     * <ul>
+     *   <li>the write lock is taken once, so other threads see all of the changes or none;</li>
+     *   <li>the journal is flushed once, at the end;</li>
+     *   <li>each ObservableList returned by the getObservable* methods fires a single change
+     *       for the whole batch, so e.g. importing 100k tasks refreshes a filtered table once.</li>
+     * </ul>
+     * This is not a transaction: if an operation throws, the operations before it stay applied.
+     * {@link #checkpoint()} and {@link #saveAllData()} cannot be called inside a batch.
+     *
+     * @param operations the operations to run
+     */
+    public void batch(Runnable operations) {
+        writeLocked(() -> {
+            if (inBatch) {
+                operations.run();
+                return;
+            }
+            inBatch = true;
+            try {
+                operations.run();
+            } finally {
+                inBatch = false;
+                commitJournal();
+            }
+        });
+    }
+
+    private void requireNotInBatch(String method) {
+        if (writeOwner == Thread.currentThread()) {
+            throw new IllegalStateException(method + "() cannot be called inside a batch");
         }
     }
 
@@ -134,10 +657,10 @@ public class DataManager {
 
     /**
      * Returns a List of all categories currently in memory.
-     * @return an unmodifiable List of Category objects.
+     * @return an unmodifiable snapshot List of Category objects.
      */
     public List<Category> getAllCategories() {
-        return categories;
+        return readLocked(() -> List.copyOf(categories));
     }
 
     /**
@@ -145,7 +668,7 @@ public class DataManager {
      * @return the ObservableList of Category objects.
      */
     public ObservableList<Category> getObservableCategories() {
-        return categories;
+        return categoriesView;
     }
 
     /**
@@ -154,9 +677,13 @@ public class DataManager {
      * @return the newly created Category object
      */
     public Category createCategory(String name) {
-        Category cat = new Category(name);
-        categories.add(cat);
-        return cat;
+        return writeLockedValue(() -> {
+            Category cat = new Category(name);
+            categories.add(cat);
+            journal.put(DataJournal.EntityType.CATEGORY, cat);
+            commitJournal();
+            return cat;
+        });
     }
 
     /**
@@ -165,7 +692,12 @@ public class DataManager {
      * @param newName  the new name
      */
     public void renameCategory(Category category, String newName) {
-        category.setName(newName);
+        writeLocked(() -> {
+            category.setName(newName);
+            changeLog.updated(DataChangeEvent.EntityType.CATEGORY, category, DataChangeEvent.Field.NAME);
+            journal.put(DataJournal.EntityType.CATEGORY, category);
+            commitJournal();
+        });
     }
 
     /**
@@ -174,18 +706,31 @@ public class DataManager {
      * @param category the Category to delete
      */
     public void deleteCategory(Category category) {
-        List<String> taskIdsToRemove = new ArrayList<>();
-        for (Task t : tasks) {
-            if (t.getCategoryId() != null && t.getCategoryId().equals(category.getId())) {
-                taskIdsToRemove.add(t.getId());
+        writeLocked(() -> {
+            // Copy: removing the tasks updates the index we read them from
+            Set<Task> tasksToRemove = new HashSet<>(tasksByCategory.get(category.getId()));
+            // Remove reminders for those tasks
+            Set<Reminder> remindersToRemove = new HashSet<>();
+            for (Task t : tasksToRemove) {
+                remindersToRemove.addAll(remindersByTask.get(t.getId()));
             }
-        }
-        // Remove reminders for those tasks
-        reminders.removeIf(r -> taskIdsToRemove.contains(r.getTaskId()));
-        // Remove the tasks
-        tasks.removeIf(t -> taskIdsToRemove.contains(t.getId()));
-        // Finally remove the category
-        categories.remove(category);
+            // removeAll applies each removal as a single change on the ObservableList
+            reminders.removeAll(remindersToRemove);
+            // Remove the tasks
+            tasks.removeAll(tasksToRemove);
+            // Finally remove the category
+            categories.remove(category);
+            facets.forgetCategory(category.getId());
+
+            for (Reminder r : remindersToRemove) {
+                journal.delete(DataJournal.EntityType.REMINDER, r.getId());
+            }
+            for (Task t : tasksToRemove) {
+                journal.delete(DataJournal.EntityType.TASK, t.getId());
+            }
+            journal.delete(DataJournal.EntityType.CATEGORY, category.getId());
+            commitJournal();
+        });
     }
 
     // ---------------------------------------------------------------
@@ -194,10 +739,10 @@ public class DataManager {
 
     /**
      * Returns a List of all priorities.
-     * @return a List of Priority objects
+     * @return an unmodifiable snapshot List of Priority objects
      */
     public List<Priority> getAllPriorities() {
-        return priorities;
+        return readLocked(() -> List.copyOf(priorities));
     }
 
     /**
@@ -205,7 +750,7 @@ public class DataManager {
      * @return the ObservableList of Priority objects
      */
     public ObservableList<Priority> getObservablePriorities() {
-        return priorities;
+        return prioritiesView;
     }
 
     /**
@@ -214,9 +759,13 @@ public class DataManager {
      * @return the newly created Priority
      */
     public Priority createPriority(String name) {
-        Priority p = new Priority(name);
-        priorities.add(p);
-        return p;
+        return writeLockedValue(() -> {
+            Priority p = new Priority(name);
+            priorities.add(p);
+            journal.put(DataJournal.EntityType.PRIORITY, p);
+            commitJournal();
+            return p;
+        });
     }
 
     /**
@@ -225,11 +774,16 @@ public class DataManager {
      * @param newName  the new name
      */
     public void renamePriority(Priority priority, String newName) {
-        Priority def = getDefaultPriority();
-        if (priority.getId().equals(def.getId())) {
-            return; // do nothing if it's Default
-        }
-        priority.setName(newName);
+        writeLocked(() -> {
+            Priority def = getDefaultPriority();
+            if (priority.getId().equals(def.getId())) {
+                return; // do nothing if it's Default
+            }
+            priority.setName(newName);
+            changeLog.updated(DataChangeEvent.EntityType.PRIORITY, priority, DataChangeEvent.Field.NAME);
+            journal.put(DataJournal.EntityType.PRIORITY, priority);
+            commitJournal();
+        });
     }
 
     /**
@@ -239,16 +793,21 @@ public class DataManager {
      * @param priority the Priority to delete
      */
     public void deletePriority(Priority priority) {
-        Priority def = getDefaultPriority();
-        if (priority.getId().equals(def.getId())) {
-            return; // Δεν επιτρέπεται η διαγραφή του default
-        }
-        for (Task t : tasks) {
-            if (t.getPriorityId().equals(priority.getId())) {
+        writeLocked(() -> {
+            Priority def = getDefaultPriority();
+            if (priority.getId().equals(def.getId())) {
+                return; // Δεν επιτρέπεται η διαγραφή του default
+            }
+            // Copy: every setPriorityId moves the task to another entry of the index
+            for (Task t : new ArrayList<>(tasksByPriority.get(priority.getId()))) {
                 t.setPriorityId(def.getId()); // Με αυτό το setPriorityId το binding θα ενημερώσει το UI
+                journal.put(DataJournal.EntityType.TASK, t);
             }
-        }
-        priorities.remove(priority);
+            priorities.remove(priority);
+            facets.forgetPriority(priority.getId());
+            journal.delete(DataJournal.EntityType.PRIORITY, priority.getId());
+            commitJournal();
+        });
     }
 
     /**
@@ -256,10 +815,8 @@ public class DataManager {
      * @return the Priority that is considered "Default"
      */
     public Priority getDefaultPriority() {
-        return priorities.stream()
-                .filter(p -> p.getId().equals(defaultPriorityId))
-                .findFirst()
-                .orElse(null);
+        EntityId id = defaultPriorityId;
+        return (id != null) ? prioritiesById.get(id) : null;
     }
 
     // ---------------------------------------------------------------
@@ -268,18 +825,21 @@ public class DataManager {
 
     /**
      * Returns a list of all tasks currently loaded.
-     * @return an unmodifiable list of Task objects
+     * @return an unmodifiable snapshot list of Task objects
      */
     public List<Task> getAllTasks() {
-        return tasks;
+        return readLocked(() -> List.copyOf(tasks));
     }
 
     /**
      * Returns an ObservableList of all tasks, used for UI bindings.
+     * Besides additions and removals, it fires an update change (as a list with an extractor
+     * would) for every task whose fields were edited, so a FilteredList or SortedList over it
+     * re-evaluates only the edited rows.
      * @return the ObservableList of Task objects
      */
     public ObservableList<Task> getObservableTasks() {
-        return tasks;
+        return tasksView;
     }
 
     /**
@@ -294,12 +854,35 @@ public class DataManager {
     public Task createTask(String title, String description,
                            Category category, Priority priority,
                            LocalDate deadline) {
-        String categoryId = (category != null) ? category.getId() : null;
-        String priorityId = (priority != null) ? priority.getId() : getDefaultPriority().getId();
+        return createTask(title, description, category, priority, deadline, null);
+    }
 
-        Task task = new Task(title, description, categoryId, priorityId, deadline);
-        tasks.add(task);
-        return task;
+    /**
+     * Creates a new Task with the provided data and an initial status.
+     * @param title the title of the task
+     * @param description the description
+     * @param category the Category (can be null)
+     * @param priority the Priority (can be null -> use Default)
+     * @param deadline the deadline (LocalDate) or null
+     * @param status the initial TaskStatus (null -> OPEN)
+     * @return the newly created Task object
+     */
+    public Task createTask(String title, String description,
+                           Category category, Priority priority,
+                           LocalDate deadline, TaskStatus status) {
+        return writeLockedValue(() -> {
+            EntityId categoryId = (category != null) ? category.getId() : null;
+            EntityId priorityId = (priority != null) ? priority.getId() : getDefaultPriority().getId();
+
+            Task task = new Task(title, description, categoryId, priorityId, deadline);
+            if (status != null) {
+                task.setStatus(status);
+            }
+            tasks.add(task);
+            journal.put(DataJournal.EntityType.TASK, task);
+            commitJournal();
+            return task;
+        });
     }
 
     /**
@@ -318,24 +901,107 @@ public class DataManager {
     public void updateTask(Task task, String newTitle, String newDesc,
                            Category newCategory, Priority newPriority,
                            LocalDate newDeadline, TaskStatus newStatus) {
+        writeLocked(() -> {
 
-        TaskStatus previousStatus = task.getStatus();
+            TaskStatus previousStatus = task.getStatus();
 
-        task.setTitle(newTitle);
-        task.setDescription(newDesc);
-        task.setCategoryId((newCategory != null) ? newCategory.getId() : null);
-        task.setPriorityId((newPriority != null) ? newPriority.getId() : getDefaultPriority().getId());
-        task.setDeadline(newDeadline);
-        task.setStatus(newStatus);
+            task.setTitle(newTitle);
+            task.setDescription(newDesc);
+            task.setCategoryId((newCategory != null) ? newCategory.getId() : null);
+            task.setPriorityId((newPriority != null) ? newPriority.getId() : getDefaultPriority().getId());
+            task.setDeadline(newDeadline);
+            task.setStatus(newStatus);
 
-        // If we just transitioned to COMPLETED from another status, remove reminders
-        if (previousStatus != TaskStatus.COMPLETED && newStatus == TaskStatus.COMPLETED) {
-            reminders.removeIf(r -> r.getTaskId().equals(task.getId()));
-            System.out.println("✅ All reminders for task '" + task.getTitle() + "' have been deleted.");
-        }
+            // If we just transitioned to COMPLETED from another status, remove reminders
+            if (previousStatus != TaskStatus.COMPLETED && newStatus == TaskStatus.COMPLETED) {
+                removeRemindersOfTask(task);
+                System.out.println("✅ All reminders for task '" + task.getTitle() + "' have been deleted.");
+            }
+
+            // Ελέγχουμε αν η εργασία πρέπει να γίνει DELAYED (σε περίπτωση που άλλαξε deadline)
+            task.checkIfShouldBeDelayed(LocalDate.now());
 
-        // Ελέγχουμε αν η εργασία πρέπει να γίνει DELAYED (σε περίπτωση που άλλαξε deadline)
-        task.checkIfShouldBeDelayed();
+            journal.put(DataJournal.EntityType.TASK, task);
+            commitJournal();
+        });
+    }
+
+    /**
+     * Returns the tasks whose deadline falls within the given range (both ends inclusive).
+     * Answered from the deadline index, without looking at any other task.
+     * @param from the first date of the range
+     * @param to the last date of the range
+     * @return a list of Task objects, ordered by deadline
+     */
+    public List<Task> getTasksDueBetween(LocalDate from, LocalDate to) {
+        return readLocked(() -> {
+            List<Task> result = new ArrayList<>();
+            for (Set<Task> sameDay : tasksByDeadline.subMap(from, true, to, true).values()) {
+                result.addAll(sameDay);
+            }
+            return result;
+        });
+    }
+
+    /**
+     * Counts the tasks that are not completed and whose deadline is from yesterday
+     * up to the given number of days from today.
+     * @param days how many days ahead to look
+     * @return the number of such tasks
+     */
+    public long countTasksDueWithin(int days) {
+        return readLocked(() -> {
+            LocalDate today = LocalDate.now();
+            long count = 0;
+            for (Set<Task> sameDay : tasksByDeadline.subMap(today.minusDays(1), true, today.plusDays(days), true).values()) {
+                for (Task t : sameDay) {
+                    if (t.getStatus() != TaskStatus.COMPLETED) count++;
+                }
+            }
+            return count;
+        });
+    }
+
+    /**
+     * Marks as DELAYED the tasks whose deadline passed since the last check.
+     * Called when the date changes while the application is running; only the tasks
+     * with a deadline between the previous check and the given date are visited.
+     * @param today the new current date
+     * @return the number of tasks that became DELAYED
+     */
+    public int rollOverDay(LocalDate today) {
+        return writeLockedValue(() -> {
+            if (delayedCheckedUntil == null || !today.isAfter(delayedCheckedUntil)) {
+                return 0;
+            }
+            int delayed = markDelayed(tasksByDeadline.subMap(delayedCheckedUntil, true, today, false), today);
+            delayedCheckedUntil = today;
+            setDueSoonWindow(today);
+            return delayed;
+        });
+    }
+
+    /**
+     * @return the number of tasks, updated live
+     */
+    public ReadOnlyIntegerProperty totalTasksProperty() {
+        return totalTasks.getReadOnlyProperty();
+    }
+
+    /**
+     * @param status a TaskStatus
+     * @return the number of tasks with that status, updated live
+     */
+    public ReadOnlyIntegerProperty statusCountProperty(TaskStatus status) {
+        return statusCounts.get(status).getReadOnlyProperty();
+    }
+
+    /**
+     * @return the number of tasks that are not completed and are due from yesterday
+     *         up to 7 days from today, updated live (and at every date change)
+     */
+    public ReadOnlyIntegerProperty dueSoonCountProperty() {
+        return dueSoonCount.getReadOnlyProperty();
     }
 
     /**
@@ -343,8 +1009,38 @@ public class DataManager {
      * @param task the Task to delete
      */
     public void deleteTask(Task task) {
-        reminders.removeIf(r -> r.getTaskId().equals(task.getId()));
-        tasks.remove(task);
+        writeLocked(() -> {
+            removeRemindersOfTask(task);
+            tasks.remove(task);
+            journal.delete(DataJournal.EntityType.TASK, task.getId());
+            commitJournal();
+        });
+    }
+
+    /**
+     * Deletes the given Tasks and all their associated Reminders, as one operation.
+     * The tasks are removed from the list in a single pass, which is much cheaper than
+     * deleting them one by one (even in a {@link #batch(Runnable)}).
+     * @param toDelete the Tasks to delete
+     */
+    public void deleteTasks(Collection<Task> toDelete) {
+        writeLocked(() -> {
+            Set<Task> tasksToRemove = new HashSet<>(toDelete);
+            Set<Reminder> remindersToRemove = new HashSet<>();
+            for (Task t : tasksToRemove) {
+                remindersToRemove.addAll(remindersByTask.get(t.getId()));
+            }
+            reminders.removeAll(remindersToRemove);
+            tasks.removeAll(tasksToRemove);
+
+            for (Reminder r : remindersToRemove) {
+                journal.delete(DataJournal.EntityType.REMINDER, r.getId());
+            }
+            for (Task t : tasksToRemove) {
+                journal.delete(DataJournal.EntityType.TASK, t.getId());
+            }
+            commitJournal();
+        });
     }
 
     // ---------------------------------------------------------------
@@ -353,10 +1049,10 @@ public class DataManager {
 
     /**
      * Returns a List of all reminders.
-     * @return a list of Reminder objects
+     * @return an unmodifiable snapshot list of Reminder objects
      */
     public List<Reminder> getAllReminders() {
-        return reminders;
+        return readLocked(() -> List.copyOf(reminders));
     }
 
     /**
@@ -364,7 +1060,27 @@ public class DataManager {
      * @return the ObservableList of Reminder objects
      */
     public ObservableList<Reminder> getObservableReminders() {
-        return reminders;
+        return remindersView;
+    }
+
+    /**
+     * Returns the reminders of a Task.
+     * @param task the Task
+     * @return a read-only copy of the set of the task's Reminder objects
+     */
+    public Set<Reminder> getRemindersOfTask(Task task) {
+        return readOptimistic(() -> Collections.unmodifiableSet(
+                new LinkedHashSet<>(remindersByTask.get(task.getId()))));
+    }
+
+    /**
+     * Finds a Reminder by its unique ID.
+     * @param reminderId the ID of the Reminder
+     * @return the Reminder object, or null if not found
+     */
+    public Reminder findReminderById(EntityId reminderId) {
+        if (reminderId == null) return null;
+        return remindersById.get(reminderId);
     }
 
     /**
@@ -382,48 +1098,52 @@ public class DataManager {
      * @throws IllegalArgumentException if the date is invalid or in the past
      */
     public Reminder createReminder(Task task, ReminderType type, LocalDate customDate) {
-        if (task.getStatus() == TaskStatus.COMPLETED) {
-            throw new IllegalStateException("Cannot create reminder for a Completed task.");
-        }
-        if (type == ReminderType.SPECIFIC_DATE && customDate == null) {
-            throw new IllegalArgumentException("Reminder date cannot be empty for SPECIFIC_DATE.");
-        }
+        return writeLockedValue(() -> {
+            if (task.getStatus() == TaskStatus.COMPLETED) {
+                throw new IllegalStateException("Cannot create reminder for a Completed task.");
+            }
+            if (type == ReminderType.SPECIFIC_DATE && customDate == null) {
+                throw new IllegalArgumentException("Reminder date cannot be empty for SPECIFIC_DATE.");
+            }
 
-        LocalDate deadline = task.getDeadline();
-        if (deadline == null && type != ReminderType.SPECIFIC_DATE) {
-            throw new IllegalArgumentException("Task has no deadline, cannot create this type of reminder.");
-        }
+            LocalDate deadline = task.getDeadline();
+            if (deadline == null && type != ReminderType.SPECIFIC_DATE) {
+                throw new IllegalArgumentException("Task has no deadline, cannot create this type of reminder.");
+            }
 
-        LocalDate reminderDate;
-        switch (type) {
-            case ONE_DAY_BEFORE:
-                reminderDate = deadline.minusDays(1);
-                break;
-            case ONE_WEEK_BEFORE:
-                reminderDate = deadline.minusWeeks(1);
-                break;
-            case ONE_MONTH_BEFORE:
-                reminderDate = deadline.minusMonths(1);
-                break;
-            case SPECIFIC_DATE:
-            default:
-                reminderDate = customDate;
-        }
+            LocalDate reminderDate;
+            switch (type) {
+                case ONE_DAY_BEFORE:
+                    reminderDate = deadline.minusDays(1);
+                    break;
+                case ONE_WEEK_BEFORE:
+                    reminderDate = deadline.minusWeeks(1);
+                    break;
+                case ONE_MONTH_BEFORE:
+                    reminderDate = deadline.minusMonths(1);
+                    break;
+                case SPECIFIC_DATE:
+                default:
+                    reminderDate = customDate;
+            }
 
-        // Έλεγχος: να μην είναι στο παρελθόν και (αν SPECIFIC_DATE) να μην είναι >= deadline
-        if (reminderDate.isBefore(LocalDate.now())) {
-            throw new IllegalArgumentException("Reminder date cannot be in the past.");
-        }
-        // Αν είναι specific, βεβαιωνόμαστε ότι είναι πριν το deadline (strictly)
-        if (type == ReminderType.SPECIFIC_DATE && deadline != null) {
-            if (!reminderDate.isBefore(deadline)) {
-                throw new IllegalArgumentException("Reminder date must be strictly before the Task's deadline.");
+            // Έλεγχος: να μην είναι στο παρελθόν και (αν SPECIFIC_DATE) να μην είναι >= deadline
+            if (reminderDate.isBefore(LocalDate.now())) {
+                throw new IllegalArgumentException("Reminder date cannot be in the past.");
+            }
+            // Αν είναι specific, βεβαιωνόμαστε ότι είναι πριν το deadline (strictly)
+            if (type == ReminderType.SPECIFIC_DATE && deadline != null) {
+                if (!reminderDate.isBefore(deadline)) {
+                    throw new IllegalArgumentException("Reminder date must be strictly before the Task's deadline.");
+                }
             }
-        }
 
-        Reminder reminder = new Reminder(task.getId(), type, reminderDate);
-        reminders.add(reminder);
-        return reminder;
+            Reminder reminder = new Reminder(task.getId(), type, reminderDate);
+            reminders.add(reminder);
+            journal.put(DataJournal.EntityType.REMINDER, reminder);
+            commitJournal();
+            return reminder;
+        });
     }
 
     /**
@@ -431,7 +1151,11 @@ public class DataManager {
      * @param reminder the Reminder to delete
      */
     public void deleteReminder(Reminder reminder) {
-        reminders.remove(reminder);
+        writeLocked(() -> {
+            reminders.remove(reminder);
+            journal.delete(DataJournal.EntityType.REMINDER, reminder.getId());
+            commitJournal();
+        });
     }
 
     /**
@@ -448,56 +1172,82 @@ public class DataManager {
                                Task newTask,
                                ReminderType newType,
                                LocalDate newDate) {
-        if (reminder == null) return;
-
-        if (newType == ReminderType.SPECIFIC_DATE && newDate == null) {
-            throw new IllegalArgumentException("Reminder date cannot be empty for SPECIFIC_DATE.");
-        }
+        writeLocked(() -> {
+            if (reminder == null) return;
 
-        if (newTask.getStatus() == TaskStatus.COMPLETED) {
-            throw new IllegalArgumentException("Cannot set reminder for a Completed task.");
-        }
+            if (newType == ReminderType.SPECIFIC_DATE && newDate == null) {
+                throw new IllegalArgumentException("Reminder date cannot be empty for SPECIFIC_DATE.");
+            }
 
-        LocalDate deadline = newTask.getDeadline();
-        if (deadline == null && newType != ReminderType.SPECIFIC_DATE) {
-            throw new IllegalArgumentException("Task has no deadline, cannot set this type of reminder.");
-        }
+            if (newTask.getStatus() == TaskStatus.COMPLETED) {
+                throw new IllegalArgumentException("Cannot set reminder for a Completed task.");
+            }
 
-        LocalDate reminderDate;
-        switch (newType) {
-            case ONE_DAY_BEFORE:
-                reminderDate = deadline.minusDays(1);
-                break;
-            case ONE_WEEK_BEFORE:
-                reminderDate = deadline.minusWeeks(1);
-                break;
-            case ONE_MONTH_BEFORE:
-                reminderDate = deadline.minusMonths(1);
-                break;
-            case SPECIFIC_DATE:
-            default:
-                reminderDate = newDate;
-        }
+            LocalDate deadline = newTask.getDeadline();
+            if (deadline == null && newType != ReminderType.SPECIFIC_DATE) {
+                throw new IllegalArgumentException("Task has no deadline, cannot set this type of reminder.");
+            }
 
-        if (reminderDate.isBefore(LocalDate.now())) {
-            throw new IllegalArgumentException("Reminder date cannot be in the past.");
-        }
-        if (newType == ReminderType.SPECIFIC_DATE && deadline != null) {
-            if (!reminderDate.isBefore(deadline)) {
-                throw new IllegalArgumentException("Reminder date must be strictly before the Task's deadline.");
+            LocalDate reminderDate;
+            switch (newType) {
+                case ONE_DAY_BEFORE:
+                    reminderDate = deadline.minusDays(1);
+                    break;
+                case ONE_WEEK_BEFORE:
+                    reminderDate = deadline.minusWeeks(1);
+                    break;
+                case ONE_MONTH_BEFORE:
+                    reminderDate = deadline.minusMonths(1);
+                    break;
+                case SPECIFIC_DATE:
+                default:
+                    reminderDate = newDate;
             }
-        }
 
-        reminder.setTaskId(newTask.getId());
-        reminder.setType(newType);
-        reminder.setReminderDate(reminderDate);
+            if (reminderDate.isBefore(LocalDate.now())) {
+                throw new IllegalArgumentException("Reminder date cannot be in the past.");
+            }
+            if (newType == ReminderType.SPECIFIC_DATE && deadline != null) {
+                if (!reminderDate.isBefore(deadline)) {
+                    throw new IllegalArgumentException("Reminder date must be strictly before the Task's deadline.");
+                }
+            }
 
-        for (int i = 0; i < reminders.size(); i++) {
-            if (reminders.get(i).getId().equals(reminder.getId())) {
-                reminders.set(i, reminder);
-                break;
+            // The reminder is already in the list; its observer updates the indexes
+            reminder.setTaskId(newTask.getId());
+            if (reminder.getType() != newType) {
+                changeLog.updated(DataChangeEvent.EntityType.REMINDER, reminder, DataChangeEvent.Field.TYPE);
             }
-        }
+            reminder.setType(newType);
+            reminder.setReminderDate(reminderDate);
+            // An updated reminder fires again on its (new) date
+            reminder.setNotified(false);
+            reminderScheduler.schedule(reminder);
+
+            journal.put(DataJournal.EntityType.REMINDER, reminder);
+            commitJournal();
+        });
+    }
+
+    /**
+     * Starts firing reminders: every reminder not yet notified is delivered once its date
+     * arrives, and those whose date passed while the application was closed are delivered
+     * right away. Delivered reminders are marked as notified (and saved as such).
+     *
+     * @param callbackExecutor runs the delivery, including {@code onDue}; any executor works,
+     *                         but a callback that touches the UI needs the JavaFX thread,
+     *                         e.g. {@code Platform::runLater}
+     * @param onDue            receives the reminders that became due together
+     */
+    public void startReminders(Executor callbackExecutor, Consumer<List<Reminder>> onDue) {
+        reminderScheduler.start(due -> callbackExecutor.execute(() -> deliverReminders(due, onDue)));
+    }
+
+    /**
+     * Stops firing reminders.
+     */
+    public void stopReminders() {
+        reminderScheduler.stop();
     }
 
     // ---------------------------------------------------------------
@@ -513,23 +1263,78 @@ public class DataManager {
      * @return a List of Task objects matching the given criteria
      */
     public List<Task> searchTasks(String title, Category category, Priority priority) {
-        return tasks.stream().filter(task -> {
-            boolean matchTitle = true;
-            boolean matchCategory = true;
-            boolean matchPriority = true;
+        return searchTasks(new TaskQuery().title(title).category(category).priority(priority));
+    }
 
-            if (title != null && !title.isEmpty()) {
-                matchTitle = task.getTitle() != null
-                        && task.getTitle().toLowerCase().contains(title.toLowerCase());
-            }
-            if (category != null) {
-                matchCategory = category.getId().equals(task.getCategoryId());
-            }
-            if (priority != null) {
-                matchPriority = priority.getId().equals(task.getPriorityId());
-            }
-            return matchTitle && matchCategory && matchPriority;
-        }).toList();
+    /**
+     * Searches tasks by any combination of criteria.
+     * The most selective index available for the query provides the candidates;
+     * the remaining criteria are checked on those candidates only.
+     *
+     * If the calling thread is interrupted, the search stops early (releasing the lock)
+     * by throwing a {@link java.util.concurrent.CancellationException}.
+     *
+     * @param query the criteria
+     * @return the matching tasks
+     */
+    public List<Task> searchTasks(TaskQuery query) {
+        return readLocked(() -> queryPlanner.plan(query).execute());
+    }
+
+    /**
+     * Returns one page of the tasks matching a query, ordered by id.
+     * Only as many tasks as needed to fill the page are examined, so the first page of
+     * a large result set is cheap.
+     *
+     * @param query    the criteria
+     * @param pageSize the maximum number of tasks per page
+     * @param cursor   {@link TaskPage#getNextCursor()} of the previous page, or null for the first page
+     * @return the page
+     * @throws IllegalArgumentException if pageSize is not positive or the cursor is invalid
+     */
+    public TaskPage searchTasksPage(TaskQuery query, int pageSize, String cursor) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive: " + pageSize);
+        }
+        EntityId afterId = (cursor != null) ? TaskPage.decodeCursor(cursor) : null;
+        return readLocked(() -> queryPlanner.plan(query).page(pageSize, afterId));
+    }
+
+    /**
+     * Describes how {@link #searchTasks(TaskQuery)} would run a query: the chosen index and its
+     * estimated cost (tasks examined), the alternatives it was preferred to and the criteria
+     * verified on the candidates.
+     *
+     * @param query the criteria
+     * @return the plan, one line per step
+     */
+    public String explain(TaskQuery query) {
+        return readLocked(() -> queryPlanner.plan(query).explain());
+    }
+
+    /**
+     * Returns a filter that checks a query on a single task, e.g. for a FilteredList.
+     * Category and priority are tested as bits of their bitmaps.
+     * The filter can be used on any thread.
+     *
+     * @param query the criteria
+     * @return the filter
+     */
+    public Predicate<Task> taskFilter(TaskQuery query) {
+        Predicate<Task> predicate = readLocked(() -> queryPlanner.plan(query).predicate());
+        return task -> readOptimistic(() -> predicate.test(task));
+    }
+
+    /**
+     * Full-text search over task titles and descriptions.
+     * Every word of the query must appear (as the start of a word) in the title or the
+     * description; case, accents and the final sigma are ignored.
+     *
+     * @param query one or more words
+     * @return the matching tasks, most relevant first (title matches before description matches)
+     */
+    public List<Task> searchTasksByText(String query) {
+        return readLocked(() -> searchIndex.search(query));
     }
 
     /**
@@ -541,21 +1346,26 @@ public class DataManager {
      * @return λίστα με tasks χωρίς categoryId
      */
     public List<Task> searchTasksNoCategory(String title, Priority priority) {
-        return tasks.stream().filter(task -> {
-            boolean matchTitle = true;
-            boolean matchPriority = true;
-            boolean hasNoCategory = (task.getCategoryId() == null);
+        return searchTasks(new TaskQuery().title(title).noCategory().priority(priority));
+    }
 
-            if (title != null && !title.isEmpty()) {
-                matchTitle = task.getTitle() != null
-                        && task.getTitle().toLowerCase().contains(title.toLowerCase());
-            }
-            if (priority != null) {
-                matchPriority = priority.getId().equals(task.getPriorityId());
-            }
+    /**
+     * Counts the tasks of a category.
+     * @param category the Category, or null for the tasks without category
+     * @return the number of tasks
+     */
+    public int countTasksInCategory(Category category) {
+        EntityId categoryId = (category != null) ? category.getId() : null;
+        return readOptimistic(() -> facets.categoryBits(categoryId).cardinality());
+    }
 
-            return hasNoCategory && matchTitle && matchPriority;
-        }).toList();
+    /**
+     * Counts the tasks with the given priority.
+     * @param priority the Priority
+     * @return the number of tasks
+     */
+    public int countTasksWithPriority(Priority priority) {
+        return readOptimistic(() -> facets.priorityBits(priority.getId()).cardinality());
     }
 
     // ---------------------------------------------------------------
@@ -567,12 +1377,9 @@ public class DataManager {
      * @param categoryId the ID of the Category
      * @return the Category object, or null if not found
      */
-    public Category findCategoryById(String categoryId) {
+    public Category findCategoryById(EntityId categoryId) {
         if (categoryId == null) return null;
-        return categories.stream()
-                .filter(c -> c.getId().equals(categoryId))
-                .findFirst()
-                .orElse(null);
+        return categoriesById.get(categoryId);
     }
 
     /**
@@ -580,12 +1387,9 @@ public class DataManager {
      * @param priorityId the ID of the Priority
      * @return the Priority object, or null if not found
      */
-    public Priority findPriorityById(String priorityId) {
+    public Priority findPriorityById(EntityId priorityId) {
         if (priorityId == null) return null;
-        return priorities.stream()
-                .filter(p -> p.getId().equals(priorityId))
-                .findFirst()
-                .orElse(null);
+        return prioritiesById.get(priorityId);
     }
 
     /**
@@ -593,11 +1397,9 @@ public class DataManager {
      * @param taskId the ID of the Task
      * @return the Task object, or null if not found
      */
-    public Task getTaskById(String taskId) {
-        return tasks.stream()
-                .filter(task -> task.getId().equals(taskId))
-                .findFirst()
-                .orElse(null);
+    public Task getTaskById(EntityId taskId) {
+        if (taskId == null) return null;
+        return tasksById.get(taskId);
     }
 
     // ---------------------------------------------------------------
@@ -615,18 +1417,393 @@ public class DataManager {
             Priority def = new Priority("Default");
             priorities.add(def);
             defaultPriorityId = def.getId();
+            journal.put(DataJournal.EntityType.PRIORITY, def);
+            commitJournal();
         } else {
             defaultPriorityId = defaultP.get().getId();
         }
     }
 
     /**
-     * Checks all tasks to determine if they should be marked as "DELAYED".
+     * Checks all tasks with a past deadline to determine if they should be marked as "DELAYED".
      * If a task has a past deadline and is not "COMPLETED", its status is updated to "DELAYED".
      */
     private void updateDelayedTasks() {
-        for (Task t : tasks) {
-            t.checkIfShouldBeDelayed();
+        LocalDate today = LocalDate.now();
+        markDelayed(tasksByDeadline.headMap(today, false), today);
+        delayedCheckedUntil = today;
+        setDueSoonWindow(today);
+    }
+
+    private int markDelayed(Map<LocalDate, Set<Task>> overdue, LocalDate today) {
+        int delayed = 0;
+        for (Set<Task> sameDay : overdue.values()) {
+            for (Task t : sameDay) {
+                TaskStatus before = t.getStatus();
+                t.checkIfShouldBeDelayed(today);
+                if (before != t.getStatus()) delayed++;
+            }
+        }
+        return delayed;
+    }
+
+    /**
+     * Moves the "due soon" window to the given date and recounts it from the deadline index.
+     */
+    private void setDueSoonWindow(LocalDate today) {
+        dueSoonFrom = today.minusDays(1);
+        dueSoonTo = today.plusDays(DUE_SOON_DAYS);
+        int count = 0;
+        for (Set<Task> sameDay : tasksByDeadline.subMap(dueSoonFrom, true, dueSoonTo, true).values()) {
+            for (Task t : sameDay) {
+                if (t.getStatus() != TaskStatus.COMPLETED) count++;
+            }
+        }
+        dueSoonValue = count;
+    }
+
+    private boolean isDueSoon(LocalDate deadline, TaskStatus status) {
+        return deadline != null && status != TaskStatus.COMPLETED
+                && !deadline.isBefore(dueSoonFrom) && !deadline.isAfter(dueSoonTo);
+    }
+
+    private void adjustStatusCount(TaskStatus status, int delta) {
+        if (status != null) {
+            statusCountValues[status.ordinal()] += delta;
+        }
+    }
+
+    /**
+     * Captures the current values of the counters, as an update of their JavaFX properties
+     * to post through the bridge.
+     */
+    private Runnable countersUpdate() {
+        int total = tasks.size();
+        int[] byStatus = statusCountValues.clone();
+        int dueSoon = dueSoonValue;
+        return () -> {
+            totalTasks.set(total);
+            for (TaskStatus status : TaskStatus.values()) {
+                statusCounts.get(status).set(byStatus[status.ordinal()]);
+            }
+            dueSoonCount.set(dueSoon);
+        };
+    }
+
+    /**
+     * Runs a change under the write lock, then publishes it (counters and change events)
+     * once the lock is released. On the JavaFX thread the UI sees the change on return.
+     */
+    private void writeLocked(Runnable action) {
+        writeLockedValue(() -> {
+            action.run();
+            return null;
+        });
+    }
+
+    private <T> T writeLockedValue(Supplier<T> action) {
+        if (writeOwner == Thread.currentThread()) {
+            // Nested in a batch: the outer call publishes the changes
+            return action.get();
+        }
+        long stamp = lock.writeLock();
+        writeOwner = Thread.currentThread();
+        // The UI sees the changes of the whole operation at once
+        fxBridge.hold();
+        Runnable counters = null;
+        try {
+            T result = action.get();
+            counters = countersUpdate();
+            return result;
+        } finally {
+            // Also after a failed operation: whatever it changed has been changed
+            List<DataChangeEvent> changes = changeLog.drain();
+            writeOwner = null;
+            // Posted without the write lock: nothing the bridge runs may wait for a writer
+            synchronized (publishOrder) {
+                lock.unlockWrite(stamp);
+                if (counters != null) {
+                    fxBridge.post(counters);
+                }
+                publishChanges(changes);
+            }
+            fxBridge.release();
+            fxBridge.flushOnOwnerThread();
+        }
+    }
+
+    /**
+     * Runs a read under the read lock, concurrently with other readers.
+     */
+    private <T> T readLocked(Supplier<T> action) {
+        if (writeOwner == Thread.currentThread()) {
+            return action.get();
+        }
+        long stamp = lock.readLock();
+        try {
+            return action.get();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Runs a short read without locking, and again under the read lock if a writer
+     * interfered. The action must not have side effects: it may see inconsistent
+     * state (and fail) when a writer runs concurrently, in which case its result is discarded.
+     */
+    private <T> T readOptimistic(Supplier<T> action) {
+        if (writeOwner == Thread.currentThread()) {
+            return action.get();
+        }
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = action.get();
+                if (lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException e) {
+                // A writer changed the structures while we were reading them
+            }
+        }
+        return readLocked(action);
+    }
+
+    private void indexDeadline(LocalDate deadline, Task task) {
+        if (deadline == null) return;
+        tasksByDeadline.computeIfAbsent(deadline, d -> new LinkedHashSet<>()).add(task);
+    }
+
+    private void unindexDeadline(LocalDate deadline, Task task) {
+        if (deadline == null) return;
+        Set<Task> sameDay = tasksByDeadline.get(deadline);
+        if (sameDay != null && sameDay.remove(task) && sameDay.isEmpty()) {
+            tasksByDeadline.remove(deadline);
         }
     }
+
+    /**
+     * Marks due reminders as notified and hands them to the listener.
+     * Reminders deleted or already notified in the meantime are skipped.
+     */
+    private void deliverReminders(List<Reminder> due, Consumer<List<Reminder>> onDue) {
+        List<Reminder> delivered = writeLockedValue(() -> {
+            List<Reminder> fresh = new ArrayList<>(due.size());
+            for (Reminder r : due) {
+                if (remindersById.get(r.getId()) != r || r.isNotified()) continue;
+                r.setNotified(true);
+                journal.put(DataJournal.EntityType.REMINDER, r);
+                fresh.add(r);
+            }
+            if (!fresh.isEmpty()) commitJournal();
+            return fresh;
+        });
+        // Outside the lock: the listener may show a dialog that runs a nested event loop
+        if (!delivered.isEmpty()) {
+            onDue.accept(delivered);
+        }
+    }
+
+    /**
+     * Removes all reminders of the given task and records their deletion in the journal.
+     */
+    private void removeRemindersOfTask(Task task) {
+        Set<Reminder> toRemove = new HashSet<>(remindersByTask.get(task.getId()));
+        if (toRemove.isEmpty()) return;
+        for (Reminder r : toRemove) {
+            journal.delete(DataJournal.EntityType.REMINDER, r.getId());
+        }
+        reminders.removeAll(toRemove);
+    }
+
+    /**
+     * Records the additions and removals of a list in the change log.
+     */
+    private <T> void recordListChanges(ObservableList<T> list, DataChangeEvent.EntityType type) {
+        list.addListener((ListChangeListener<T>) change -> {
+            while (change.next()) {
+                if (change.wasPermutated() || change.wasUpdated()) continue;
+                for (T removed : change.getRemoved()) {
+                    changeLog.removed(type, removed);
+                }
+                for (T added : change.getAddedSubList()) {
+                    changeLog.added(type, added);
+                }
+            }
+        });
+    }
+
+    /**
+     * Hands the changes of the operation that ended to the UI: the JavaFX properties of the
+     * changed entities are synced with their values, edited tasks become update changes of the
+     * tasks mirror (so a FilteredList or SortedList over it re-evaluates just those rows),
+     * then the change listeners run, once the lists show the changes.
+     */
+    private void publishChanges(List<DataChangeEvent> changes) {
+        if (changes.isEmpty()) return;
+        Set<Task> editedTasks = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<Object> changed = new ArrayList<>();
+        for (DataChangeEvent change : changes) {
+            // An added entity may have been changed in the same operation (and reported as added)
+            if (change.getKind() == DataChangeEvent.Kind.UPDATED || change.getKind() == DataChangeEvent.Kind.ADDED) {
+                changed.add(change.getEntity());
+            }
+            if (change.is(DataChangeEvent.EntityType.TASK, DataChangeEvent.Kind.UPDATED)) {
+                editedTasks.add((Task) change.getEntity());
+            }
+        }
+        if (!changed.isEmpty()) {
+            fxBridge.post(() -> changed.forEach(DataManager::syncProperties));
+        }
+        if (!editedTasks.isEmpty()) {
+            fxBridge.postUpdated(tasksView, editedTasks);
+        }
+        if (changeListeners.isEmpty()) return;
+        List<DataChangeEvent> delivered = Collections.unmodifiableList(changes);
+        fxBridge.notifyLater(() -> {
+            for (DataChangeListener listener : changeListeners) {
+                listener.dataChanged(delivered);
+            }
+        });
+    }
+
+    private static void syncProperties(Object entity) {
+        if (entity instanceof Task task) {
+            task.syncProperties();
+        } else if (entity instanceof Reminder reminder) {
+            reminder.syncProperties();
+        } else if (entity instanceof Category category) {
+            category.syncProperties();
+        } else if (entity instanceof Priority priority) {
+            priority.syncProperties();
+        }
+    }
+
+    /**
+     * Keeps an id -> object index in sync with a list, whichever way the list is changed
+     * (DataManager methods, loading, or direct edits through the exposed ObservableList).
+     */
+    private static <T> void indexById(ObservableList<T> list, Map<EntityId, T> index, Function<T, EntityId> idOf) {
+        list.addListener((ListChangeListener<T>) change -> {
+            while (change.next()) {
+                if (change.wasPermutated() || change.wasUpdated()) continue;
+                for (T removed : change.getRemoved()) {
+                    EntityId id = idOf.apply(removed);
+                    if (id != null) index.remove(id, removed);
+                }
+                for (T added : change.getAddedSubList()) {
+                    EntityId id = idOf.apply(added);
+                    if (id != null) index.put(id, added);
+                }
+            }
+        });
+    }
+
+    /**
+     * Keeps the per-task indexes in sync with the tasks list and attaches/detaches
+     * the shared task observer.
+     */
+    private void onTasksChanged(ListChangeListener.Change<? extends Task> change) {
+        while (change.next()) {
+            if (change.wasPermutated() || change.wasUpdated()) continue;
+            for (Task t : change.getRemoved()) {
+                t.setObserver(null);
+                searchIndex.remove(t);
+                facets.remove(t);
+                tasksByCategory.remove(t.getCategoryId(), t);
+                tasksByPriority.remove(t.getPriorityId(), t);
+                unindexDeadline(t.getDeadline(), t);
+                adjustStatusCount(t.getStatus(), -1);
+                if (isDueSoon(t.getDeadline(), t.getStatus())) dueSoonValue--;
+            }
+            for (Task t : change.getAddedSubList()) {
+                t.setObserver(taskObserver);
+                searchIndex.add(t);
+                facets.add(t);
+                tasksByCategory.put(t.getCategoryId(), t);
+                tasksByPriority.put(t.getPriorityId(), t);
+                indexDeadline(t.getDeadline(), t);
+                adjustStatusCount(t.getStatus(), 1);
+                if (isDueSoon(t.getDeadline(), t.getStatus())) dueSoonValue++;
+            }
+        }
+    }
+
+    /**
+     * Keeps the task -> reminders index and the reminder scheduler in sync with the reminders list.
+     */
+    private void onRemindersChanged(ListChangeListener.Change<? extends Reminder> change) {
+        while (change.next()) {
+            if (change.wasPermutated() || change.wasUpdated()) continue;
+            for (Reminder r : change.getRemoved()) {
+                r.setObserver(null);
+                remindersByTask.remove(r.getTaskId(), r);
+                reminderScheduler.cancel(r);
+            }
+            for (Reminder r : change.getAddedSubList()) {
+                r.setObserver(reminderObserver);
+                remindersByTask.put(r.getTaskId(), r);
+                if (!r.isNotified()) {
+                    reminderScheduler.schedule(r);
+                }
+            }
+        }
+    }
+
+    /**
+     * Ends an operation: flushes its journal entries, then asks for a background checkpoint once
+     * the journal is at least as large as the data itself, which keeps the amortized cost of every
+     * change independent of the dataset size.
+     */
+    private void commitJournal() {
+        if (inBatch) return;
+        journal.flush();
+        if (journal.size() >= checkpointThreshold() && loadFailure == null) {
+            checkpointWriter.request();
+        }
+    }
+
+    private int checkpointThreshold() {
+        int objects = categories.size() + priorities.size() + tasks.size() + reminders.size();
+        return Math.max(CHECKPOINT_MIN_ENTRIES, objects);
+    }
+
+    /**
+     * Writes an array as an indented JSON file, through a temporary file that is moved into place.
+     * The objects are streamed to the file one at a time.
+     */
+    private void writeJson(File target, Object[] items) throws IOException {
+        File tmp = new File(target.getPath() + ".tmp");
+        mapper.writerWithDefaultPrettyPrinter().writeValue(tmp, items);
+        try (FileChannel channel = FileChannel.open(tmp.toPath(), StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(tmp.toPath(), target.toPath(),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        forceDirectory(target.getAbsoluteFile().getParentFile());
+    }
+
+    /**
+     * Forces the entries of a directory (e.g. a file just renamed into it) to the disk.
+     * Some platforms cannot open a directory for this; there the rename is left to the
+     * file system.
+     */
+    static void forceDirectory(File folder) throws IOException {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(folder.toPath(), StandardOpenOption.READ);
+        } catch (IOException e) {
+            return;
+        }
+        try (channel) {
+            channel.force(true);
+        }
+    }
+
+    private static ObjectMapper createMapper() {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+        return mapper;
+    }
 }
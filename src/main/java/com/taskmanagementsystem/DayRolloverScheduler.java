@@ -0,0 +1,61 @@
+package com.taskmanagementsystem;
+
+import javafx.application.Platform;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Calls a callback on the JavaFX thread every time the date changes (at midnight).
+ *
+ * The date is re-checked at least once an hour, so a clock change or a machine that
+ * was asleep at midnight only delays the callback instead of skipping it.
+ */
+class DayRolloverScheduler {
+    private static final long MAX_WAIT_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "day-rollover");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Consumer<LocalDate> onNewDay;
+    private LocalDate currentDay;
+
+    /**
+     * @param onNewDay receives the new date, on the JavaFX thread
+     */
+    DayRolloverScheduler(Consumer<LocalDate> onNewDay) {
+        this.onNewDay = onNewDay;
+    }
+
+    void start() {
+        currentDay = LocalDate.now();
+        scheduleNextCheck();
+    }
+
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    private void scheduleNextCheck() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime nextMidnight = now.toLocalDate().plusDays(1).atStartOfDay();
+        long untilMidnight = Duration.between(now, nextMidnight).toMillis() + 1;
+        executor.schedule(this::check, Math.min(untilMidnight, MAX_WAIT_MILLIS), TimeUnit.MILLISECONDS);
+    }
+
+    private void check() {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(currentDay)) {
+            currentDay = today;
+            Platform.runLater(() -> onNewDay.accept(today));
+        }
+        scheduleNextCheck();
+    }
+}
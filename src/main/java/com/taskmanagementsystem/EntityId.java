@@ -0,0 +1,154 @@
+package com.taskmanagementsystem;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The id of a category, priority, task or reminder: a 128-bit value held as two longs.
+ *
+ * The text form (a UUID, e.g. "f639930e-8ca9-4f9b-aa7d-95eadc2ec0db") is used only in the
+ * JSON files and the journal. In memory an id takes 32 bytes instead of about 80 for the
+ * string, and equals/hashCode/compareTo work on the two longs.
+ *
+ * The canonical instance of an id is the one held by the entity itself: DataManager's
+ * id indexes map every id to its entity, and a foreign key set through DataManager
+ * (e.g. {@code createTask(..., category, ...)}) is that very instance, so {@code equals}
+ * usually returns on the identity check.
+ *
+ * Ids read from the JSON files are separate instances, unless the reader is given an
+ * {@link EntityIdPool} (as DataLoader does), which maps them to the canonical instances.
+ *
+ * Ids compare as unsigned numbers, which is the same order as their text form.
+ */
+@JsonDeserialize(using = EntityId.Deserializer.class)
+public final class EntityId implements Comparable<EntityId> {
+    private static final int SEQUENCE_BITS = 12;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final long VERSION_7 = 0x7000L;
+    private static final long VARIANT_IETF = 0x8000_0000_0000_0000L;
+
+    // Timestamp and sequence of the last generated id
+    private static final AtomicLong lastTime = new AtomicLong();
+
+    private final long mostSigBits;
+    private final long leastSigBits;
+
+    private EntityId(long mostSigBits, long leastSigBits) {
+        this.mostSigBits = mostSigBits;
+        this.leastSigBits = leastSigBits;
+    }
+
+    /**
+     * Creates a new id in the UUID version 7 layout: a 48-bit millisecond timestamp, then a
+     * 12-bit sequence, then 62 random bits. The timestamp and sequence only grow (a clock that
+     * goes back is ignored), so the ids of one process sort in creation order, and new tasks
+     * are appended at the end of the id-ordered indexes.
+     *
+     * Uses ThreadLocalRandom rather than the SecureRandom of {@link UUID#randomUUID()}: the ids
+     * need to be unique, not unpredictable.
+     *
+     * @return a new id
+     */
+    public static EntityId generate() {
+        long now = System.currentTimeMillis() << SEQUENCE_BITS;
+        long time = lastTime.accumulateAndGet(now, (last, current) -> Math.max(last + 1, current));
+        // time = 48-bit timestamp + 12-bit sequence; a full sequence carries into the timestamp
+        long mostSigBits = ((time >>> SEQUENCE_BITS) << 16) | VERSION_7 | (time & SEQUENCE_MASK);
+        long leastSigBits = (ThreadLocalRandom.current().nextLong() >>> 2) | VARIANT_IETF;
+        return new EntityId(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * @return the id with the given bits
+     */
+    static EntityId of(long mostSigBits, long leastSigBits) {
+        return new EntityId(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * Parses the text form of an id.
+     * Text that is not a UUID (ids written by hand in a JSON file) is mapped to a name-based
+     * id, so the same text always gives the same id and references between files still match;
+     * such ids are written back as UUIDs.
+     *
+     * @param text the text form
+     * @return the id
+     */
+    public static EntityId parse(String text) {
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(text);
+        } catch (IllegalArgumentException e) {
+            uuid = UUID.nameUUIDFromBytes(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return new EntityId(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    long mostSigBits() {
+        return mostSigBits;
+    }
+
+    long leastSigBits() {
+        return leastSigBits;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof EntityId)) return false;
+        EntityId other = (EntityId) o;
+        return mostSigBits == other.mostSigBits && leastSigBits == other.leastSigBits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(mostSigBits ^ leastSigBits);
+    }
+
+    @Override
+    public int compareTo(EntityId other) {
+        int c = Long.compareUnsigned(mostSigBits, other.mostSigBits);
+        return (c != 0) ? c : Long.compareUnsigned(leastSigBits, other.leastSigBits);
+    }
+
+    /**
+     * @return the text form of the id, as written to the JSON files
+     */
+    @JsonValue
+    @Override
+    public String toString() {
+        return new UUID(mostSigBits, leastSigBits).toString();
+    }
+
+    /**
+     * Reads the text form of an id. If the reader has an {@link EntityIdPool} attribute
+     * (keyed by {@code EntityIdPool.class}), the id is interned in it.
+     */
+    static final class Deserializer extends StdScalarDeserializer<EntityId> {
+        private static final long serialVersionUID = 1L;
+
+        Deserializer() {
+            super(EntityId.class);
+        }
+
+        @Override
+        public EntityId deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.currentToken() != JsonToken.VALUE_STRING) {
+                return (EntityId) ctxt.handleUnexpectedToken(EntityId.class, p);
+            }
+            EntityId id = parse(p.getText());
+            EntityIdPool pool = (EntityIdPool) ctxt.getAttribute(EntityIdPool.class);
+            return (pool != null) ? pool.intern(id) : id;
+        }
+    }
+}
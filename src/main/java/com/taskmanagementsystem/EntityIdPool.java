@@ -0,0 +1,39 @@
+package com.taskmanagementsystem;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps equal ids to a single instance while files are loaded.
+ *
+ * The JSON files hold foreign keys as text, so every task's {@code categoryId} and
+ * {@code priorityId}, and every reminder's {@code taskId}, would be parsed into an instance
+ * of its own. When the reader is given a pool (see {@link EntityId.Deserializer}), every id
+ * goes through {@link #intern(EntityId)}, so a foreign key is the very instance held by the
+ * referenced category, priority or task, whichever file happens to be read first.
+ *
+ * A pool lives only as long as one load: ids of entities deleted later are not kept alive.
+ * Safe for the concurrent loader threads.
+ */
+class EntityIdPool {
+    private volatile ConcurrentHashMap<EntityId, EntityId> ids = new ConcurrentHashMap<>();
+
+    /**
+     * Makes room for about this many ids, so that the map is not grown again and again while
+     * a large file is read. Must be called before the pool is used by the loader threads.
+     *
+     * @param count the number of ids expected
+     */
+    void expect(int count) {
+        ConcurrentHashMap<EntityId, EntityId> sized = new ConcurrentHashMap<>(count);
+        sized.putAll(ids);
+        ids = sized;
+    }
+
+    /**
+     * @return the instance of this id seen first by the pool
+     */
+    EntityId intern(EntityId id) {
+        EntityId canonical = ids.putIfAbsent(id, id);
+        return (canonical != null) ? canonical : id;
+    }
+}
@@ -0,0 +1,234 @@
+package com.taskmanagementsystem;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Carries changes made on any thread over to the state observed by the JavaFX UI,
+ * which may only change on the JavaFX thread.
+ *
+ * Updates are queued in order and applied together by a single
+ * {@link Platform#runLater(Runnable)}, as one change per mirrored list. Between {@link #hold()}
+ * and {@link #release()} nothing is applied, so the updates of one operation are never split.
+ * On the JavaFX thread they can be applied at once by {@link #flushOnOwnerThread()}, which the
+ * poster calls once it has released its locks (the updates notify UI listeners, which may read
+ * back). Without a running JavaFX toolkit (e.g. in a command-line tool)
+ * {@link #flushOnOwnerThread()} applies them on the posting thread.
+ *
+ * Posting never waits for the updates being applied: the monitor of the bridge only guards the
+ * queue and is never held while updates or listeners run, so a thread may post while holding
+ * locks that those listeners take.
+ */
+class FxBridge {
+    private final List<Runnable> pending = new ArrayList<>();
+    // Run after the updates, once the views have notified their listeners
+    private final List<Runnable> pendingNotifications = new ArrayList<>();
+    private final List<BulkObservableList<?>> views = new ArrayList<>();
+    // The read-only list handed out by mirror() -> the view it wraps
+    private final Map<ObservableList<?>, BulkObservableList<?>> viewsByMirror = new IdentityHashMap<>();
+    private boolean flushScheduled;
+    // The thread applying batches; others leave theirs to it, so batches are applied in order.
+    // It may flush again further up its stack (e.g. in the nested event loop of a dialog).
+    private Thread flushingThread;
+    private int flushDepth;
+    // Number of hold() calls not released yet (operations may overlap while they publish)
+    private int holds;
+    // Known once the first update is posted; Platform.isFxApplicationThread() would start the toolkit
+    private volatile boolean toolkitRunning;
+    private volatile boolean noToolkit;
+
+    /**
+     * Queues an update of JavaFX-observed state.
+     */
+    synchronized void post(Runnable update) {
+        pending.add(update);
+        if (holds == 0) {
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Queues a callback that runs on the same thread as the updates, after the updates posted
+     * before it have been applied and the mirrored lists have notified their listeners.
+     */
+    synchronized void notifyLater(Runnable notification) {
+        pendingNotifications.add(notification);
+        if (holds == 0) {
+            scheduleFlush();
+        }
+    }
+
+    /**
+     * Holds back the updates posted from now on, until the matching {@link #release()}.
+     */
+    synchronized void hold() {
+        holds++;
+    }
+
+    /**
+     * Lets the held updates be applied, once every {@link #hold()} has been released.
+     */
+    synchronized void release() {
+        holds--;
+        if (holds == 0 && (!pending.isEmpty() || !pendingNotifications.isEmpty())) {
+            scheduleFlush();
+        }
+    }
+
+    private synchronized void scheduleFlush() {
+        if (flushScheduled || noToolkit) return;
+        try {
+            Platform.runLater(this::flush);
+            flushScheduled = true;
+            toolkitRunning = true;
+        } catch (IllegalStateException e) {
+            // The toolkit is not running: nobody observes from the JavaFX thread
+            noToolkit = true;
+        }
+    }
+
+    /**
+     * Applies the queued updates now, if called on the JavaFX thread or without toolkit;
+     * otherwise they are applied by the JavaFX thread shortly. If the updates are being applied
+     * already (by another thread, or further up the stack), they are left to that flush.
+     */
+    void flushOnOwnerThread() {
+        if (noToolkit || (toolkitRunning && Platform.isFxApplicationThread())) {
+            flush();
+        }
+    }
+
+    /**
+     * Returns a read-only list that mirrors the given list, changing only through this bridge.
+     * A change of the source becomes a single change of the mirror whenever possible
+     * (e.g. the removal of many scattered elements).
+     *
+     * @param source a list that is only changed by one thread at a time
+     */
+    <E> ObservableList<E> mirror(ObservableList<E> source) {
+        BulkObservableList<E> view = new BulkObservableList<>();
+        view.addAll(source);
+        ObservableList<E> mirror = FXCollections.unmodifiableObservableList(view);
+        synchronized (this) {
+            views.add(view);
+            viewsByMirror.put(mirror, view);
+        }
+        source.addListener((ListChangeListener<E>) change -> {
+            List<Runnable> steps = new ArrayList<>();
+            Set<E> removedOnly = new HashSet<>();
+            boolean onlyRemovals = true;
+            while (change.next()) {
+                if (change.wasUpdated()) continue;
+                if (change.wasPermutated()) {
+                    List<E> snapshot = new ArrayList<>(source);
+                    steps.add(() -> view.setAll(snapshot));
+                    onlyRemovals = false;
+                    continue;
+                }
+                int from = change.getFrom();
+                int removedSize = change.getRemovedSize();
+                List<E> added = change.wasAdded() ? new ArrayList<>(change.getAddedSubList()) : Collections.emptyList();
+                if (change.wasAdded()) onlyRemovals = false;
+                if (onlyRemovals) removedOnly.addAll(change.getRemoved());
+                steps.add(() -> {
+                    if (removedSize > 0) view.remove(from, from + removedSize);
+                    if (!added.isEmpty()) view.addAll(from, added);
+                });
+            }
+            if (steps.isEmpty()) return;
+            if (onlyRemovals && steps.size() > 1) {
+                // Elements are distinct objects: one compacting pass instead of one shift per run
+                post(() -> view.removeAll(removedOnly));
+            } else {
+                post(() -> steps.forEach(Runnable::run));
+            }
+        });
+        return mirror;
+    }
+
+    /**
+     * Queues an update change of the given elements of a mirror, for elements whose
+     * properties changed (the mirror only sees additions and removals by itself).
+     *
+     * @param mirror  a list returned by {@link #mirror(ObservableList)}
+     * @param changed the changed elements; elements no longer in the list are ignored
+     */
+    synchronized <E> void postUpdated(ObservableList<E> mirror, Set<E> changed) {
+        BulkObservableList<?> view = viewsByMirror.get(mirror);
+        post(() -> view.fireUpdated(changed));
+    }
+
+    private void flush() {
+        Thread current = Thread.currentThread();
+        synchronized (this) {
+            flushScheduled = false;
+            if (flushingThread != null && flushingThread != current) return;
+            flushingThread = current;
+            flushDepth++;
+        }
+        boolean drained = false;
+        try {
+            while (true) {
+                // Taken under the monitor, applied outside it: the updates notify listeners,
+                // which may wait for a thread that is about to post
+                List<Runnable> batch;
+                List<Runnable> notifications;
+                List<BulkObservableList<?>> viewsNow;
+                synchronized (this) {
+                    // A held flush is rescheduled by release()
+                    if (holds > 0 || (pending.isEmpty() && pendingNotifications.isEmpty())) {
+                        drained = true;
+                        endFlush();
+                        return;
+                    }
+                    batch = new ArrayList<>(pending);
+                    pending.clear();
+                    notifications = new ArrayList<>(pendingNotifications);
+                    pendingNotifications.clear();
+                    viewsNow = new ArrayList<>(views);
+                }
+                applyAsOneChangePerView(viewsNow, 0, batch);
+                for (Runnable notification : notifications) {
+                    notification.run();
+                }
+            }
+        } finally {
+            if (!drained) {
+                synchronized (this) {
+                    endFlush();
+                }
+            }
+        }
+    }
+
+    private void endFlush() {
+        if (--flushDepth == 0) {
+            flushingThread = null;
+        }
+    }
+
+    /**
+     * Applies the updates inside one change of every view, so listeners of a view are notified
+     * once per batch (and only once all views are up to date).
+     */
+    private static void applyAsOneChangePerView(List<BulkObservableList<?>> views, int viewIndex,
+                                                List<Runnable> batch) {
+        if (viewIndex == views.size()) {
+            for (Runnable update : batch) {
+                update.run();
+            }
+            return;
+        }
+        views.get(viewIndex).applyAsOneChange(() -> applyAsOneChangePerView(views, viewIndex + 1, batch));
+    }
+}
@@ -0,0 +1,34 @@
+package com.taskmanagementsystem;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A map from a key to the set of values indexed under it (e.g. category id -> tasks).
+ * Used by {@link DataManager} for its secondary indexes. Null keys are allowed.
+ */
+class IndexMultimap<K, V> {
+    private final Map<K, Set<V>> map = new HashMap<>();
+
+    void put(K key, V value) {
+        map.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(value);
+    }
+
+    void remove(K key, V value) {
+        Set<V> values = map.get(key);
+        if (values != null && values.remove(value) && values.isEmpty()) {
+            map.remove(key);
+        }
+    }
+
+    /**
+     * @return a read-only view of the values indexed under the key (empty if none)
+     */
+    Set<V> get(K key) {
+        Set<V> values = map.get(key);
+        return values == null ? Collections.emptySet() : Collections.unmodifiableSet(values);
+    }
+}
@@ -2,6 +2,9 @@ package com.taskmanagementsystem;
 
 import javafx.application.Application;
 import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleIntegerProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -15,8 +18,11 @@ import javafx.scene.layout.*;
 import javafx.stage.Stage;
 
 import javafx.scene.control.Label;
+import java.io.IOException;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import javafx.scene.control.TableView;
@@ -25,6 +31,10 @@ import javafx.scene.control.ListView;
 
 public class MainApplication extends Application {
 
+    // Ids των placeholders "All ..." / "No Category" των ComboBox (δεν αποθηκεύονται ποτέ)
+    private static final EntityId ALL_ID = EntityId.generate();
+    private static final EntityId NONE_ID = EntityId.generate();
+
     private DataManager dataManager = new DataManager();
 
     // Labels for top summary
@@ -32,6 +42,7 @@ public class MainApplication extends Application {
     private Label lblCompletedTasks;
     private Label lblDelayedTasks;
     private Label lblDeadline7Days;
+    private Label lblStartup;                    // startup metrics: πρώτο frame, δεδομένα έτοιμα
 
     // Αναφορά στο TableView των tasks (για να το ανανεώνουμε σε φίλτρα κ.λπ.)
     private TableView<Task> tasksTable;
@@ -46,83 +57,188 @@ public class MainApplication extends Application {
     // [“All Categories” + (όλες τις πραγματικές από το dataManager)]
     private final ObservableList<Category> combinedFilterCategories = FXCollections.observableArrayList();
 
+    // [“All Priorities” + (όλα τα πραγματικά priorities)] για το Search tab
+    private final ObservableList<Priority> combinedPriorities = FXCollections.observableArrayList();
+
+    // Αυξάνεται όταν αλλάζουν τα πλήθη tasks ανά κατηγορία/priority· τα κελιά με τα πλήθη
+    // είναι δεμένα σε αυτό (βλ. createCategoryCountCell)
+    private final IntegerProperty taskCountsVersion = new SimpleIntegerProperty();
+
     // ---- Search Tab controls (για να κάνουμε refresh αυτόματα) ----
     private TextField txtSearchTitle;
+    private TextField txtSearchText;
     private ComboBox<Category> cmbSearchCategory;
     private ComboBox<Priority> cmbSearchPriority;
     private TableView<Task> searchTable;         // πίνακας αναζήτησης
-    private FilteredList<Task> filteredTasks;    // φίλτρο αναζήτησης πάνω στα tasks
+    private SearchPipeline searchPipeline;       // εκτελεί τις αναζητήσεις εκτός JavaFX thread
+    private Label lblSearchStats;                // μετρητές του searchPipeline
     private FilteredList<Task> tasksFilteredList;
 
+    // Ενημερώνει τις εκπρόθεσμες εργασίες όταν αλλάζει η ημερομηνία
+    private DayRolloverScheduler dayRolloverScheduler;
 
-    @Override
-    public void start(Stage primaryStage) {
-        // 1. Load data from JSON
-        dataManager.loadAllData();
-
-        tasksFilteredList = new FilteredList<>(dataManager.getObservableTasks(), t -> true);
-
+    // Τα δεδομένα φορτώνονται σε background thread· μέχρι τότε δεν αποθηκεύουμε τίποτα
+    private boolean dataLoaded;
+    private long firstFrameMillis = -1;
+    private long dataReadyMillis = -1;
 
-        for (Task task : dataManager.getObservableTasks()) {
-            task.priorityIdProperty().addListener((obs, oldVal, newVal) -> {
-                tasksFilteredList.setPredicate(t -> true);
-            });
-            task.categoryIdProperty().addListener((obs, oldVal, newVal) -> {
-                tasksFilteredList.setPredicate(t -> true);
-            });
-        }
 
-        // 2. Ενημέρωση εκπρόθεσμων εργασιών
-        for (Task task : dataManager.getAllTasks()) {
-            task.checkIfShouldBeDelayed();
-        }
+    @Override
+    public void start(Stage primaryStage) {
+        final long startNanos = System.nanoTime();
 
         // -- Δημιουργούμε το κύριο layout
         BorderPane root = new BorderPane();
 
-        // TOP: summary info
+        // TOP: summary info (οι μετρητές ανεβαίνουν όσο φορτώνονται τα δεδομένα)
         VBox topBox = createTopBox();
         root.setTop(topBox);
 
-        // CENTER: TabPane
-        TabPane tabPane = new TabPane();
-        tabPane.setTabClosingPolicy(TabPane.TabClosingPolicy.UNAVAILABLE);
-
-        Tab tasksTab = new Tab("Tasks", createTasksPane());
-        Tab categoriesTab = new Tab("Categories", createCategoriesPane());
-        Tab prioritiesTab = new Tab("Priorities", createPrioritiesPane());
-        Tab remindersTab = new Tab("Reminders", createRemindersPane());
-        Tab searchTab = new Tab("Search", createSearchPane());
-
-        tabPane.getTabs().addAll(tasksTab, categoriesTab, prioritiesTab, remindersTab, searchTab);
-        root.setCenter(tabPane);
+        // CENTER: μέχρι να φορτωθούν τα δεδομένα, μια μπάρα προόδου
+        ProgressBar loadingProgress = new ProgressBar(0);
+        loadingProgress.setPrefWidth(300);
+        VBox loadingBox = new VBox(10, new Label("Loading data..."), loadingProgress);
+        loadingBox.setAlignment(Pos.CENTER);
+        root.setCenter(loadingBox);
 
-        // 3. Φτιάχνουμε Scene, δείχνουμε παράθυρο
+        // 1. Φτιάχνουμε Scene, δείχνουμε αμέσως το παράθυρο
         Scene scene = new Scene(root, 1000, 700);
         scene.getStylesheets().add(getClass().getResource("style.css").toExternalForm());
 
+        // Startup metric: χρόνος μέχρι το πρώτο frame (δεν εξαρτάται από το μέγεθος των δεδομένων)
+        Runnable firstFrame = new Runnable() {
+            @Override
+            public void run() {
+                // Αφαιρείται μετά το pulse, όχι όσο η Scene διατρέχει τους listeners της
+                Platform.runLater(() -> scene.removePostLayoutPulseListener(this));
+                if (firstFrameMillis >= 0) return;
+                firstFrameMillis = elapsedMillis(startNanos);
+                showStartupMetrics();
+            }
+        };
+        scene.addPostLayoutPulseListener(firstFrame);
+
         primaryStage.setTitle("MediaLab Assistant");
         primaryStage.setScene(scene);
         primaryStage.show();
 
-        // 4. Αρχική ενημέρωση counters
-        updateSummaryInfo();
+        // 2. Load data σε background thread· ο DataManager είναι thread-safe
+        //    και οι λίστες του UI ενημερώνονται στο JavaFX thread
+        Thread loader = new Thread(() -> {
+            IOException failure = null;
+            try {
+                dataManager.loadAllData(progress ->
+                        Platform.runLater(() -> loadingProgress.setProgress(progress)));
+            } catch (IOException e) {
+                failure = e;
+            }
+            IOException loadFailure = failure;
+            Platform.runLater(() -> {
+                dataReadyMillis = elapsedMillis(startNanos);
+                showStartupMetrics();
+                onDataLoaded(root);
+                // Τα αρχεία δεν αντικαθίστανται όσο τα δεδομένα είναι ελλιπή
+                if (loadFailure != null) {
+                    showError("Could not load the data",
+                            "The files in the medialab folder could not be read completely: "
+                                    + loadFailure.getCause().getMessage()
+                                    + "\n\nThey will not be overwritten; changes made now are kept in the journal.");
+                }
+            });
+        }, "medialab-startup");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    /**
+     * Καλείται στο JavaFX thread όταν έχουν φορτωθεί τα δεδομένα:
+     * βάζει τα tabs στη θέση της μπάρας προόδου και ξεκινά τους schedulers.
+     */
+    private void onDataLoaded(BorderPane root) {
+        dataLoaded = true;
+
+        // Η λίστα των tasks στέλνει update events για όσα tasks αλλάζουν,
+        // οπότε η FilteredList ξαναελέγχει μόνο αυτά
+        tasksFilteredList = new FilteredList<>(dataManager.getObservableTasks(), t -> true);
+
+        // Οι λίστες κατηγοριών/priorities μοιράζονται στα Tasks και Search tabs, όποιο φτιαχτεί πρώτο
+        updateFilterCategoriesList();
+        updateSearchPrioritiesList();
+
+        // Κάθε αλλαγή ενημερώνει μόνο ό,τι επηρεάζει (γραμμές, λίστες, φίλτρα)
+        dataManager.addChangeListener(this::onDataChanged);
+
+        // Οι εκπρόθεσμες εργασίες ενημερώνονται ήδη στο loadAllData·
+        // όσες λήγουν όσο τρέχει η εφαρμογή ενημερώνονται κάθε μεσάνυχτα
+        // (οι πίνακες δείχνουν τη νέα κατάσταση μέσω των properties)
+        dayRolloverScheduler = new DayRolloverScheduler(dataManager::rollOverDay);
+        dayRolloverScheduler.start();
 
-        // 5. Εμφάνιση popup καθυστερημένων εργασιών, αφού έχει εμφανιστεί το παράθυρο
+        // TabPane: κάθε tab φτιάχνεται την πρώτη φορά που επιλέγεται
+        TabPane tabPane = new TabPane();
+        tabPane.setTabClosingPolicy(TabPane.TabClosingPolicy.UNAVAILABLE);
+
+        Tab tasksTab = createLazyTab("Tasks", this::createTasksPane);
+        Tab categoriesTab = createLazyTab("Categories", this::createCategoriesPane);
+        Tab prioritiesTab = createLazyTab("Priorities", this::createPrioritiesPane);
+        Tab remindersTab = createLazyTab("Reminders", this::createRemindersPane);
+        Tab searchTab = createLazyTab("Search", this::createSearchPane);
+
+        tabPane.getTabs().addAll(tasksTab, categoriesTab, prioritiesTab, remindersTab, searchTab);
+        root.setCenter(tabPane);
+
+        // Εμφάνιση popup καθυστερημένων εργασιών, αφού έχει εμφανιστεί το tab
         Platform.runLater(() -> {
-            long delayedCount = dataManager.getAllTasks().stream()
-                    .filter(t -> t.getStatus() == TaskStatus.DELAYED)
-                    .count();
+            int delayedCount = dataManager.statusCountProperty(TaskStatus.DELAYED).get();
             if (delayedCount > 0) {
                 showAlert("Delayed Tasks", "There are " + delayedCount + " delayed tasks!");
             }
         });
+
+        // Υπενθυμίσεις: όσες λήγουν μαζί (ή χάθηκαν όσο η εφαρμογή ήταν κλειστή)
+        // εμφανίζονται σε ένα μόνο μήνυμα
+        dataManager.startReminders(Platform::runLater, this::showDueReminders);
+    }
+
+    /**
+     * Tab που φτιάχνει το περιεχόμενό του την πρώτη φορά που επιλέγεται.
+     */
+    private Tab createLazyTab(String title, Supplier<Pane> content) {
+        Tab tab = new Tab(title);
+        tab.selectedProperty().addListener((obs, wasSelected, selected) -> {
+            if (selected && tab.getContent() == null) {
+                tab.setContent(content.get());
+            }
+        });
+        return tab;
+    }
+
+    private void showStartupMetrics() {
+        List<String> metrics = new ArrayList<>();
+        if (firstFrameMillis >= 0) metrics.add("first frame after " + firstFrameMillis + " ms");
+        if (dataReadyMillis >= 0) metrics.add("data ready after " + dataReadyMillis + " ms");
+        lblStartup.setText("Startup: " + String.join(", ", metrics));
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
     }
 
     @Override
     public void stop() {
-        // Αποθήκευση JSON πριν τον τερματισμό
-        dataManager.saveAllData();
+        if (searchPipeline != null) {
+            searchPipeline.shutdown();
+        }
+        dataManager.stopReminders();
+        if (dayRolloverScheduler != null) {
+            dayRolloverScheduler.stop();
+        }
+        // Κάθε αλλαγή είναι ήδη στο journal· πριν τον τερματισμό περιμένουμε να γραφτεί
+        // το binary snapshot, αν γράφεται εκείνη τη στιγμή, και κλείνουμε το journal
+        // (όχι αν κλείσαμε πριν ολοκληρωθεί η φόρτωση)
+        if (dataLoaded) {
+            dataManager.saveAllData();
+        }
     }
 
     // ---------------------------------------------------------------
@@ -132,10 +248,19 @@ public class MainApplication extends Application {
         Label lblTitle = new Label("MediaLab Assistant");
         lblTitle.setStyle("-fx-font-size: 26px; -fx-font-weight: bold;");
 
-        lblTotalTasks = new Label("Total tasks: 0");
-        lblCompletedTasks = new Label("Completed tasks: 0");
-        lblDelayedTasks = new Label("Delayed tasks: 0");
-        lblDeadline7Days = new Label("Due <= 7 days: 0");
+        // Οι μετρητές είναι δεμένοι στα live counters του DataManager
+        lblTotalTasks = new Label();
+        lblTotalTasks.textProperty().bind(
+                Bindings.concat("Total tasks: ", dataManager.totalTasksProperty()));
+        lblCompletedTasks = new Label();
+        lblCompletedTasks.textProperty().bind(
+                Bindings.concat("Completed tasks: ", dataManager.statusCountProperty(TaskStatus.COMPLETED)));
+        lblDelayedTasks = new Label();
+        lblDelayedTasks.textProperty().bind(
+                Bindings.concat("Delayed tasks: ", dataManager.statusCountProperty(TaskStatus.DELAYED)));
+        lblDeadline7Days = new Label();
+        lblDeadline7Days.textProperty().bind(
+                Bindings.concat("Due <= 7 days: ", dataManager.dueSoonCountProperty()));
 
         String counterStyle = "-fx-font-size: 14px; -fx-font-weight: bold;";
         lblTotalTasks.setStyle(counterStyle);
@@ -146,46 +271,30 @@ public class MainApplication extends Application {
         HBox countersBox = new HBox(20, lblTotalTasks, lblCompletedTasks, lblDelayedTasks, lblDeadline7Days);
         countersBox.setAlignment(Pos.CENTER);
 
+        // Οι startup metrics συμπληρώνονται από το start()
+        lblStartup = new Label();
+        lblStartup.setStyle("-fx-font-size: 11px; -fx-text-fill: gray;");
+
         VBox topBox = new VBox();
         topBox.setSpacing(5);
         topBox.setPadding(new Insets(10));
         topBox.setAlignment(Pos.CENTER);
-        topBox.getChildren().addAll(lblTitle, countersBox);
+        topBox.getChildren().addAll(lblTitle, countersBox, lblStartup);
 
         return topBox;
     }
 
     /**
-     * Ενημερώνουμε τους μετρητές (συνολικών tasks, completed, delayed, dueIn7)
+     * Ξαναγεμίζει τη λίστα combinedPriorities ("All Priorities" + τα priorities του dataManager).
+     * Μετά τη φόρτωση ενημερώνεται σταδιακά από το onDataChanged.
      */
-    private void updateSummaryInfo() {
-        List<Task> allTasks = dataManager.getAllTasks();
-        int total = allTasks.size();
-        long completed = allTasks.stream().filter(t -> t.getStatus() == TaskStatus.COMPLETED).count();
-        long delayed = allTasks.stream().filter(t -> t.getStatus() == TaskStatus.DELAYED).count();
-        long dueIn7 = allTasks.stream().filter(t -> {
-            if (t.getDeadline() == null) return false;
-            if (t.getStatus() == TaskStatus.COMPLETED) return false;
-            return !t.getDeadline().isBefore(LocalDate.now().minusDays(1))
-                    && !t.getDeadline().isAfter(LocalDate.now().plusDays(7));
-        }).count();
-
-        lblTotalTasks.setText("Total tasks: " + total);
-        lblCompletedTasks.setText("Completed tasks: " + completed);
-        lblDelayedTasks.setText("Delayed tasks: " + delayed);
-        lblDeadline7Days.setText("Due <= 7 days: " + dueIn7);
-    }
-
     private void updateSearchPrioritiesList() {
-        // Δημιουργούμε μία νέα συνδυασμένη λίστα για Priorities
-        ObservableList<Priority> combinedPriorities = FXCollections.observableArrayList();
         Priority allPriorityPlaceholder = new Priority("All Priorities");
-        allPriorityPlaceholder.setId("ALL");
-        combinedPriorities.add(allPriorityPlaceholder);
-        combinedPriorities.addAll(dataManager.getObservablePriorities());
-        
-        // Ενημερώνουμε το ComboBox στο Search tab
-        cmbSearchPriority.setItems(combinedPriorities);
+        allPriorityPlaceholder.setId(ALL_ID);
+        List<Priority> all = new ArrayList<>();
+        all.add(allPriorityPlaceholder);
+        all.addAll(dataManager.getObservablePriorities());
+        combinedPriorities.setAll(all);
     }
 
     // ---------------------------------------------------------------
@@ -197,12 +306,8 @@ public class MainApplication extends Application {
 
         
 
-        // Δημιουργούμε την placeholder κατηγορία
-        allCategoryPlaceholder = new Category("All Categories");
-        allCategoryPlaceholder.setId("ALL");
-
-        // Φτιάχνουμε την combinedFilterCategories (All + dataManager categories)
-        updateFilterCategoriesList();
+        // Η combinedFilterCategories (All + dataManager categories) και η placeholder
+        // κατηγορία έχουν ήδη φτιαχτεί στο onDataLoaded
 
         // Φίλτρο
         HBox filterBox = new HBox(10);
@@ -215,6 +320,9 @@ public class MainApplication extends Application {
         cmbFilterCategory.setValue(allCategoryPlaceholder); // Αρχικά εμφανίζει “All Categories”
         cmbFilterCategory.setConverter(ConverterUtils.getCategoryConverter());
 
+        // Στη λίστα κάθε κατηγορία εμφανίζεται με το πλήθος των tasks της
+        cmbFilterCategory.setCellFactory(listView -> createCategoryCountCell());
+
         cmbFilterCategory.setButtonCell(new ListCell<Category>() {
             @Override
     protected void updateItem(Category item, boolean empty) {
@@ -383,14 +491,9 @@ tasksTable.setItems(tasksFilteredList);
                 Category cat = cmbCategory.getValue();
                 Priority prio = cmbPriority.getValue();
                 LocalDate dl = dpDeadline.getValue();
-                Task t = dataManager.createTask(txtTitle.getText(), txtDesc.getText(), cat, prio, dl);
-
-                if (cmbStatus.getValue() != null) {
-                    t.setStatus(cmbStatus.getValue());
-                }
+                dataManager.createTask(txtTitle.getText(), txtDesc.getText(), cat, prio, dl, cmbStatus.getValue());
 
                 showAlert("Success", "Task created successfully!");
-                refreshAllTablesAndCounters();
 
                 // Καθαρισμός
                 txtTitle.clear();
@@ -400,9 +503,6 @@ tasksTable.setItems(tasksFilteredList);
                 dpDeadline.setValue(null);
                 cmbStatus.setValue(null);
 
-                // Εφαρμόζουμε ξανά το φίλτρο
-                applyCategoryFilter();
-
             } catch (Exception ex) {
                 showAlert("Error", "Could not create task: " + ex.getMessage());
             }
@@ -430,8 +530,6 @@ tasksTable.setItems(tasksFilteredList);
                     st);
 
             showAlert("Success", "Task updated!");
-            refreshAllTablesAndCounters();
-            applyCategoryFilter();
         });
 
         Button btnDelete = new Button("Delete");
@@ -443,8 +541,6 @@ tasksTable.setItems(tasksFilteredList);
             }
             dataManager.deleteTask(selected);
             showAlert("Success", "Task deleted.");
-            refreshAllTablesAndCounters();
-            applyCategoryFilter();
         });
 
         tasksTable.getSelectionModel().selectedItemProperty().addListener((obs, oldVal, newVal) -> {
@@ -477,20 +573,80 @@ tasksTable.setItems(tasksFilteredList);
      * Εφαρμόζει το φίλτρο κατηγορίας στον πίνακα εργασιών.
      */
     private void applyCategoryFilter() {
-        Category selectedCat = cmbFilterCategory.getValue();
-    if (selectedCat == null || "ALL".equals(selectedCat.getId())) {
-        // Καταργούμε το φιλτράρισμα
-        tasksFilteredList.setPredicate(t -> true);
-    } else {
-        // Ορίζουμε predicate για να δείχνει μόνο τα tasks της συγκεκριμένης κατηγορίας
-        tasksFilteredList.setPredicate(t -> {
-            if (t.getCategoryId() == null) return false;
-            return selectedCat.getId().equals(t.getCategoryId());
-        });
+        // Το φίλτρο ελέγχει ένα bit στο bitmap της κατηγορίας, όχι σύγκριση ids
+        TaskQuery query = new TaskQuery();
+        applyCategoryCriterion(query, cmbFilterCategory.getValue());
+        // **Δεν** κάνουμε setItems ούτε refresh: η FilteredList ενημερώνει τον πίνακα μόνη της
+        tasksFilteredList.setPredicate(dataManager.taskFilter(query));
+    }
+
+    /**
+     * Προσθέτει στο query την επιλογή ενός ComboBox κατηγορίας
+     * (ALL => χωρίς φίλτρο, NONE => tasks χωρίς κατηγορία).
+     */
+    private void applyCategoryCriterion(TaskQuery query, Category cat) {
+        if (cat == null || ALL_ID.equals(cat.getId())) {
+            return;
+        }
+        if (NONE_ID.equals(cat.getId())) {
+            query.noCategory();
+        } else {
+            query.category(cat);
+        }
+    }
+
+    /**
+     * Κελί λίστας κατηγοριών που δείχνει και το πλήθος των tasks κάθε κατηγορίας.
+     * Το κείμενο είναι δεμένο στο taskCountsVersion, οπότε ξαναμετράει σε κάθε αλλαγή.
+     */
+    private ListCell<Category> createCategoryCountCell() {
+        return new ListCell<>() {
+            @Override
+            protected void updateItem(Category item, boolean empty) {
+                super.updateItem(item, empty);
+                textProperty().unbind();
+                if (empty || item == null) {
+                    setText(null);
+                    return;
+                }
+                textProperty().bind(Bindings.createStringBinding(() -> {
+                    int count;
+                    if (ALL_ID.equals(item.getId())) {
+                        count = dataManager.totalTasksProperty().get();
+                    } else if (NONE_ID.equals(item.getId())) {
+                        count = dataManager.countTasksInCategory(null);
+                    } else {
+                        count = dataManager.countTasksInCategory(item);
+                    }
+                    return item.getName() + " (" + count + ")";
+                }, taskCountsVersion, item.nameProperty()));
+            }
+        };
+    }
+
+    /**
+     * Κελί λίστας priorities που δείχνει και το πλήθος των tasks κάθε priority
+     * (δεμένο στο taskCountsVersion, όπως το createCategoryCountCell).
+     */
+    private ListCell<Priority> createPriorityCountCell() {
+        return new ListCell<>() {
+            @Override
+            protected void updateItem(Priority item, boolean empty) {
+                super.updateItem(item, empty);
+                textProperty().unbind();
+                if (empty || item == null) {
+                    setText(null);
+                    return;
+                }
+                textProperty().bind(Bindings.createStringBinding(() -> {
+                    int count = ALL_ID.equals(item.getId())
+                            ? dataManager.totalTasksProperty().get()
+                            : dataManager.countTasksWithPriority(item);
+                    return item.getName() + " (" + count + ")";
+                }, taskCountsVersion, item.nameProperty()));
+            }
+        };
     }
-    // **Δεν** κάνουμε setItems ή tasksTable.setItems(...) εδώ.
-    tasksTable.refresh();
-}
 
     /**
      * Ανανεώνει τη λίστα combinedFilterCategories,
@@ -500,9 +656,14 @@ tasksTable.setItems(tasksFilteredList);
         combinedFilterCategories.clear();
         // Πρώτα “All Categories”
         allCategoryPlaceholder = new Category("All Categories");
-        allCategoryPlaceholder.setId("ALL");
+        allCategoryPlaceholder.setId(ALL_ID);
         combinedFilterCategories.add(allCategoryPlaceholder);
 
+        // Μετά “No Category”, για τα tasks χωρίς κατηγορία
+        Category noCategoryPlaceholder = new Category("No Category");
+        noCategoryPlaceholder.setId(NONE_ID);
+        combinedFilterCategories.add(noCategoryPlaceholder);
+
         // Μετά οι πραγματικές από το DataManager
         combinedFilterCategories.addAll(dataManager.getObservableCategories());
     }
@@ -559,9 +720,6 @@ tasksTable.setItems(tasksFilteredList);
             if (txtCategoryName.getText().isEmpty()) return;
             dataManager.createCategory(txtCategoryName.getText());
             txtCategoryName.clear();
-            refreshAllTablesAndCounters();
-            updateFilterCategoriesList();
-            updateSearchPrioritiesList();
         });
 
         Button btnRename = new Button("Rename Category");
@@ -575,8 +733,6 @@ tasksTable.setItems(tasksFilteredList);
             dataManager.renameCategory(selected, txtCategoryName.getText());
             listView.refresh();
             txtCategoryName.clear();
-            refreshAllTablesAndCounters();
-            updateFilterCategoriesList();
         });
 
         Button btnDelete = new Button("Delete Category");
@@ -588,8 +744,6 @@ tasksTable.setItems(tasksFilteredList);
             }
             dataManager.deleteCategory(selected);
             showAlert("Success", "Category and related tasks removed!");
-            refreshAllTablesAndCounters();
-            updateFilterCategoriesList();
         });
 
          // --- 3. Τοποθέτησε το "Create New Category" πρώτο στο formBox ---
@@ -654,8 +808,6 @@ tasksTable.setItems(tasksFilteredList);
             if (txtPrioName.getText().isEmpty()) return;
             dataManager.createPriority(txtPrioName.getText());
             txtPrioName.clear();
-            refreshAllTablesAndCounters();
-            updateSearchPrioritiesList();
         });
 
         Button btnRename = new Button("Rename Priority");
@@ -669,8 +821,6 @@ tasksTable.setItems(tasksFilteredList);
             dataManager.renamePriority(selected, txtPrioName.getText());
             listView.refresh();
             txtPrioName.clear();
-            refreshAllTablesAndCounters();
-            updateSearchPrioritiesList();
         });
 
         Button btnDelete = new Button("Delete Priority");
@@ -680,15 +830,11 @@ tasksTable.setItems(tasksFilteredList);
                 showAlert("Warning", "Select a priority first.");
                 return;
             }
+            // Όσα tasks είχαν το priority ανατίθενται σε default·
+            // οι πίνακες ενημερώνονται από τα change events
             dataManager.deletePriority(selected);
-            tasksTable.refresh();
 
             showAlert("Success", "Priority deleted or replaced with Default in tasks.");
-            // Με το που γίνεται εδώ η διαγραφή, όσα tasks είχαν το priority 
-            // ανατίθενται σε default. Καλούμε refreshAllTablesAndCounters()
-            // για άμεση ενημέρωση στην οθόνη.
-            refreshAllTablesAndCounters();
-            updateSearchPrioritiesList();
         });
 
         // Αν είναι το “Default”, κρύβουμε Rename/Delete
@@ -730,9 +876,10 @@ tasksTable.setItems(tasksFilteredList);
 
         TableColumn<Reminder, String> colTaskTitle = new TableColumn<>("Task Title");
         colTaskTitle.setCellValueFactory(cell -> {
-            String taskId = cell.getValue().getTaskId();
+            EntityId taskId = cell.getValue().getTaskId();
             Task task = dataManager.getTaskById(taskId);
-            return new SimpleStringProperty(task != null ? task.getTitle() : "N/A");
+            // Δεμένο στον τίτλο, ώστε να ενημερώνεται όταν αλλάζει
+            return task != null ? task.titleProperty() : new SimpleStringProperty("N/A");
         });
 
         TableColumn<Reminder, ReminderType> colType = new TableColumn<>("Type");
@@ -851,7 +998,6 @@ tasksTable.setItems(tasksFilteredList);
             try {
                 dataManager.createReminder(selectedTask, selectedType, selectedDate);
                 showAlert("Success", "Reminder added successfully!");
-                refreshAllTablesAndCounters();
             } catch (Exception ex) {
                 showAlert("Error", ex.getMessage());
             }
@@ -865,7 +1011,6 @@ tasksTable.setItems(tasksFilteredList);
                 return;
             }
             dataManager.deleteReminder(selected);
-            refreshAllTablesAndCounters();
         });
 
         Button btnEdit = new Button("Update Reminder");
@@ -891,8 +1036,8 @@ tasksTable.setItems(tasksFilteredList);
 
             try {
                 dataManager.updateReminder(selected, selectedTask, selectedType, selectedDate);
+                table.refresh();
                 showAlert("Success", "Reminder updated successfully!");
-                refreshAllTablesAndCounters();
             } catch (Exception ex) {
                 showAlert("Error", ex.getMessage());
             }
@@ -931,124 +1076,113 @@ tasksTable.setItems(tasksFilteredList);
         txtSearchTitle = new TextField();
         txtSearchTitle.setPromptText("Search by title (partial)");
 
+        // Λέξεις (ή αρχές λέξεων) σε τίτλο ή περιγραφή, μέσω του ευρετηρίου λέξεων
+        txtSearchText = new TextField();
+        txtSearchText.setPromptText("Search title and description (words)");
+
 cmbSearchCategory = new ComboBox<>(combinedFilterCategories);
 cmbSearchCategory.setPromptText("Category");
 cmbSearchCategory.setConverter(ConverterUtils.getCategoryConverter());
+cmbSearchCategory.setCellFactory(listView -> createCategoryCountCell());
 
 
-        // Δημιουργούμε μία συνδυασμένη λίστα για Priorities με την dummy επιλογή "All Priorities"
-ObservableList<Priority> combinedPriorities = FXCollections.observableArrayList();
-Priority allPriorityPlaceholder = new Priority("All Priorities");
-allPriorityPlaceholder.setId("ALL");
-combinedPriorities.add(allPriorityPlaceholder);
-combinedPriorities.addAll(dataManager.getObservablePriorities());
-
-// Δημιουργία του ComboBox με τη νέα λίστα
+        // Η συνδυασμένη λίστα Priorities με την dummy επιλογή "All Priorities" (βλ. updateSearchPrioritiesList)
 cmbSearchPriority = new ComboBox<>(combinedPriorities);
 cmbSearchPriority.setPromptText("Priority (optional)");
 cmbSearchPriority.setConverter(ConverterUtils.getPriorityConverter());
+cmbSearchPriority.setCellFactory(listView -> createPriorityCountCell());
 
-        // Χρησιμοποιούμε FilteredList ώστε οι αλλαγές στα tasks να εμφανίζονται αυτόματα
-        filteredTasks = new FilteredList<>(dataManager.getObservableTasks(), t -> true);
+        // Η αναζήτηση τρέχει σε background thread· στο πίνακα φτάνει μόνο το αποτέλεσμα
+        // του τελευταίου query, και από αυτό μόνο η διαφορά από το προηγούμενο
+        lblSearchStats = new Label();
+        lblSearchStats.setStyle("-fx-font-size: 11px; -fx-text-fill: gray;");
+        searchPipeline = new SearchPipeline(dataManager, this::updateSearchStats);
 
-        searchTable = new TableView<>(filteredTasks);
+        searchTable = new TableView<>(searchPipeline.getResults());
         searchTable.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
 
         TableColumn<Task, String> colTitle = new TableColumn<>("Title");
         colTitle.setCellValueFactory(new PropertyValueFactory<>("title"));
 
         TableColumn<Task, String> colPrio = new TableColumn<>("Priority");
-        colPrio.setCellValueFactory(cell -> {
-            // Λαμβάνουμε το priorityId ως observable property
-            String pid = cell.getValue().getPriorityId();
-            Priority p = dataManager.findPriorityById(pid);
-            if (p != null) {
-                return p.nameProperty();
-            } else {
-                return new SimpleStringProperty("");
-            }
-        });
+        // Τα κελιά ακολουθούν το priorityId/categoryId του task και το όνομα της οντότητας
+        colPrio.setCellValueFactory(cell -> cell.getValue().priorityIdProperty()
+                .map(dataManager::findPriorityById)
+                .flatMap(Priority::nameProperty)
+                .orElse(""));
 
         TableColumn<Task, String> colCat = new TableColumn<>("Category");
-colCat.setCellValueFactory(cell -> {
-    String cid = cell.getValue().getCategoryId();
-    Category c = dataManager.findCategoryById(cid);
-    if (c != null) {
-        return c.nameProperty(); // Επιστρέφουμε το property για binding
-    } else {
-        return new SimpleStringProperty("");
-    }
-});
+colCat.setCellValueFactory(cell -> cell.getValue().categoryIdProperty()
+        .map(dataManager::findCategoryById)
+        .flatMap(Category::nameProperty)
+        .orElse(""));
 
         TableColumn<Task, String> colDeadline = new TableColumn<>("Deadline");
-        colDeadline.setCellValueFactory(cell -> {
-            LocalDate d = cell.getValue().getDeadline();
-            return new SimpleStringProperty(d != null ? d.toString() : "");
-        });
+        colDeadline.setCellValueFactory(cell -> cell.getValue().deadlineProperty()
+                .map(LocalDate::toString)
+                .orElse(""));
 
         searchTable.getColumns().addAll(colTitle, colPrio, colCat, colDeadline);
 
-        // Χρησιμοποιούμε listeners για να φιλτράρουμε αυτόματα κάθε φορά που αλλάζουν τα κριτήρια
-        txtSearchTitle.textProperty().addListener((obs, oldVal, newVal) -> applySearchFilter());
+        // Χρησιμοποιούμε listeners για να φιλτράρουμε αυτόματα κάθε φορά που αλλάζουν τα κριτήρια:
+        // ο τίτλος όταν σταματήσει η πληκτρολόγηση, τα ComboBox αμέσως
+        txtSearchTitle.textProperty().addListener((obs, oldVal, newVal) -> searchPipeline.searchSoon(buildSearchQuery()));
+        txtSearchText.textProperty().addListener((obs, oldVal, newVal) -> searchPipeline.searchSoon(buildSearchQuery()));
         cmbSearchCategory.valueProperty().addListener((obs, oldVal, newVal) -> applySearchFilter());
         cmbSearchPriority.valueProperty().addListener((obs, oldVal, newVal) -> applySearchFilter());
 
-        // Αρχικό φιλτράρισμα
+        // Αρχικά (χωρίς κριτήρια) εμφανίζονται όλα τα tasks
         applySearchFilter();
 
         box.getChildren().addAll(
                 new Label("Search Criteria:"),
                 txtSearchTitle,
+                txtSearchText,
                 cmbSearchCategory,
                 cmbSearchPriority,
                 new Label("Results:"),
-                searchTable
+                searchTable,
+                lblSearchStats
         );
 
         return box;
     }
 
     /**
-     * Εφαρμόζει το φίλτρο αναζήτησης στα tasks με βάση τα πεδία:
+     * Εφαρμόζει (χωρίς καθυστέρηση) το φίλτρο αναζήτησης στα tasks με βάση τα πεδία:
      * - txtSearchTitle
+     * - txtSearchText
      * - cmbSearchCategory
      * - cmbSearchPriority
      */
     private void applySearchFilter() {
+        searchPipeline.searchNow(buildSearchQuery());
+    }
+
+    /**
+     * Δείχνει τους μετρητές του searchPipeline κάτω από τα αποτελέσματα.
+     */
+    private void updateSearchStats() {
+        lblSearchStats.setText("Searches: " + searchPipeline.getCompletedCount() + " completed, "
+                + searchPipeline.getCancelledCount() + " cancelled; last "
+                + searchPipeline.getLastLatencyMillis() + " ms, average "
+                + searchPipeline.getAverageLatencyMillis() + " ms");
+    }
+
+    /**
+     * Ένα TaskQuery για όλα τα κριτήρια του Search tab· ο DataManager το εκτελεί με
+     * bit tests για κατηγορία/priority, το ευρετήριο λέξεων για τίτλο/περιγραφή
+     * και case-folded σύγκριση τίτλου.
+     */
+    private TaskQuery buildSearchQuery() {
         Category cat = cmbSearchCategory.getValue();
         Priority prio = cmbSearchPriority.getValue();
-        String titleFilter = txtSearchTitle.getText();
-
-        filteredTasks.setPredicate(task -> {
-            // Έλεγχος τίτλου (αν δοθεί)
-            if (titleFilter != null && !titleFilter.isEmpty()) {
-                if (task.getTitle() == null
-                        || !task.getTitle().toLowerCase().contains(titleFilter.toLowerCase())) {
-                    return false;
-                }
-            }
-            // Έλεγχος κατηγορίας (ALL => no filter, NONE => only null category)
-            if (cat != null && !"ALL".equals(cat.getId())) {
-                if ("NONE".equals(cat.getId())) {
-                    // μόνο tasks χωρίς category
-                    if (task.getCategoryId() != null) return false;
-                } else {
-                    // συγκεκριμένη κατηγορία
-                    if (!cat.getId().equals(task.getCategoryId())) {
-                        return false;
-                    }
-                }
-            }
-            // Έλεγχος priority (αν επιλεγεί)
-            if (prio != null && !"ALL".equals(prio.getId())) {
-                if (!prio.getId().equals(task.getPriorityId())) {
-                    return false;
-                }
-            }
-            return true;
-        });
-
-        searchTable.refresh();
+        TaskQuery query = new TaskQuery().title(txtSearchTitle.getText()).text(txtSearchText.getText());
+        applyCategoryCriterion(query, cat);
+        if (prio != null && !ALL_ID.equals(prio.getId())) {
+            query.priority(prio);
+        }
+        return query;
     }
 
     // ---------------------------------------------------------------
@@ -1062,24 +1196,92 @@ colCat.setCellValueFactory(cell -> {
         alert.showAndWait();
     }
 
+    private void showError(String title, String msg) {
+        Alert alert = new Alert(Alert.AlertType.ERROR);
+        alert.setTitle(title);
+        alert.setHeaderText(null);
+        alert.setContentText(msg);
+        alert.showAndWait();
+    }
+
     /**
-     * Καλείται όταν γίνεται κάποια αλλαγή (π.χ. προσθήκη/διαγραφή task/priority κλπ)
-     * για να κάνουμε refresh σε πίνακες, αναζήτηση και counters.
+     * Εμφανίζει ένα συγκεντρωτικό μήνυμα για τις υπενθυμίσεις που έληξαν.
      */
-    private void refreshAllTablesAndCounters() {
-        updateSummaryInfo();
-
-        // Ανανεώνουμε πίνακα tasks
-        if (tasksTable != null) {
-            tasksTable.refresh();
+    private void showDueReminders(List<Reminder> due) {
+        final int maxLines = 15;
+        StringBuilder msg = new StringBuilder();
+        for (int i = 0; i < due.size() && i < maxLines; i++) {
+            Reminder r = due.get(i);
+            Task t = dataManager.getTaskById(r.getTaskId());
+            msg.append("- ").append(t != null ? t.getTitle() : "(deleted task)")
+               .append(" (").append(r.getReminderDate()).append(")\n");
         }
-
-        // Εφαρμόζουμε ξανά το φίλτρο αναζήτησης στο Search tab
-        if (filteredTasks != null) {
-            applySearchFilter();
+        if (due.size() > maxLines) {
+            msg.append("... and ").append(due.size() - maxLines).append(" more");
         }
-        updateSearchPrioritiesList();
+        showAlert(due.size() == 1 ? "Reminder" : due.size() + " Reminders", msg.toString().strip());
+    }
 
+    /**
+     * Καλείται στο JavaFX thread μετά από κάθε αλλαγή στον DataManager και ενημερώνει μόνο
+     * ό,τι επηρεάζεται. Τα κελιά των πινάκων είναι δεμένα στα properties των tasks, οι
+     * μετρητές στα counters και τα φίλτρα ξαναελέγχουν μόνο τα tasks που άλλαξαν,
+     * οπότε εδώ μένουν οι λίστες των ComboBox.
+     */
+    private void onDataChanged(List<DataChangeEvent> changes) {
+        List<Task> changedTasks = new ArrayList<>();
+        List<Task> removedTasks = new ArrayList<>();
+        boolean countsChanged = false;
+        for (DataChangeEvent change : changes) {
+            if (change.getKind() == DataChangeEvent.Kind.RELOADED) {
+                countsChanged = true;
+                updateFilterCategoriesList();
+                updateSearchPrioritiesList();
+                if (searchPipeline != null) {
+                    searchPipeline.dataReloaded();
+                }
+                continue;
+            }
+            switch (change.getEntityType()) {
+                case CATEGORY -> {
+                    if (change.getKind() == DataChangeEvent.Kind.ADDED) {
+                        combinedFilterCategories.add((Category) change.getEntity());
+                    } else if (change.getKind() == DataChangeEvent.Kind.REMOVED) {
+                        combinedFilterCategories.remove((Category) change.getEntity());
+                    }
+                }
+                case PRIORITY -> {
+                    if (change.getKind() == DataChangeEvent.Kind.ADDED) {
+                        combinedPriorities.add((Priority) change.getEntity());
+                    } else if (change.getKind() == DataChangeEvent.Kind.REMOVED) {
+                        combinedPriorities.remove((Priority) change.getEntity());
+                    }
+                }
+                case TASK -> {
+                    // Τον πίνακα των tasks τον χειρίζονται η FilteredList και τα δεμένα κελιά·
+                    // τα αποτελέσματα αναζήτησης ενημερώνονται από το searchPipeline
+                    if (change.getKind() == DataChangeEvent.Kind.REMOVED) {
+                        removedTasks.add((Task) change.getEntity());
+                    } else {
+                        changedTasks.add((Task) change.getEntity());
+                    }
+                    if (change.getKind() != DataChangeEvent.Kind.UPDATED
+                            || change.getFields().contains(DataChangeEvent.Field.CATEGORY)
+                            || change.getFields().contains(DataChangeEvent.Field.PRIORITY)) {
+                        countsChanged = true;
+                    }
+                }
+                default -> {
+                    // Οι πίνακες υπενθυμίσεων ανανεώνονται από τα κουμπιά τους
+                }
+            }
+        }
+        if (searchPipeline != null && (!changedTasks.isEmpty() || !removedTasks.isEmpty())) {
+            searchPipeline.tasksChanged(changedTasks, removedTasks);
+        }
+        if (countsChanged) {
+            taskCountsVersion.set(taskCountsVersion.get() + 1);
+        }
     }
 
     public static void main(String[] args) {
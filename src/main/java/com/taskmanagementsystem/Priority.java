@@ -1,49 +1,79 @@
 package com.taskmanagementsystem;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import javafx.beans.property.SimpleStringProperty;
-import java.util.UUID;
 
 /**
  * Represents a Priority level (e.g., "Default", "High", "Low").
  */
 public class Priority {
-    private String id;
-    private SimpleStringProperty name;
+    private EntityId id;
+    private String name;
+    // Στη λίστα ενός DataManager: το property ενημερώνεται από αυτόν, στο JavaFX thread
+    private boolean managed;
+    // Το JavaFX property, μόνο αφού ζητηθεί
+    private BackedStringProperty nameProperty;
 
-    // Empty constructor for JSON
+    // Empty constructor
     public Priority() {
-        this.id = UUID.randomUUID().toString();
-        this.name = new SimpleStringProperty("");
+        this.id = EntityId.generate();
+        this.name = "";
     }
 
     public Priority(String name) {
-        this.id = UUID.randomUUID().toString();
-        this.name = new SimpleStringProperty(name);
+        this.id = EntityId.generate();
+        this.name = name;
     }
 
-    public Priority(String id, String name) {
-        this.id = id;
-        this.name = new SimpleStringProperty(name);
+    // Constructor for JSON: keeps the stored id (a new one only if the file has none)
+    @JsonCreator
+    public Priority(@JsonProperty("id") EntityId id, @JsonProperty("name") String name) {
+        this.id = (id != null) ? id : EntityId.generate();
+        this.name = name;
     }
 
     // Getters / Setters
-    public String getId() {
+    public EntityId getId() {
         return id;
     }
 
-    public void setId(String id) {
+    public void setId(EntityId id) {
         this.id = id;
     }
 
     public String getName() {
-        return name.get();
+        return name;
     }
 
     public void setName(String name) {
-        this.name.set(name);
+        this.name = name;
+        if (!managed) {
+            syncProperties();
+        }
     }
 
     public SimpleStringProperty nameProperty() {
-        return name;
+        if (nameProperty == null) {
+            nameProperty = new BackedStringProperty(this, "name", name, this::setName);
+        }
+        return nameProperty;
+    }
+
+    /**
+     * Brings the JavaFX property, if created, up to date with the name. Called on the JavaFX thread.
+     */
+    void syncProperties() {
+        if (nameProperty != null) {
+            nameProperty.sync(name);
+        }
+    }
+
+    /**
+     * @param managed true while the priority is in the lists of a {@link DataManager},
+     *                which then syncs the property after changing the name
+     */
+    void setManaged(boolean managed) {
+        this.managed = managed;
     }
 }
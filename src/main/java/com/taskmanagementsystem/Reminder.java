@@ -1,43 +1,85 @@
 package com.taskmanagementsystem;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import javafx.beans.property.ObjectProperty;
 import java.time.LocalDate;
-import java.util.UUID;
+import java.util.Objects;
 
 /**
  * Represents a Reminder, which is always linked to a specific Task.
+ *
+ * Like {@link Task}, the values are kept in plain fields that the setters change on any thread;
+ * the JavaFX properties are created when first asked for and brought up to date on the
+ * JavaFX thread by {@link #syncProperties()}.
  */
 public class Reminder {
-    private String id;
-    private String taskId;      // foreign key to Task
-    private ReminderType type;  // ONE_DAY_BEFORE, ...
+    private EntityId id;
+    private EntityId taskId;                                // foreign key to Task
+    private ReminderType type;                              // ONE_DAY_BEFORE, ...
     private LocalDate reminderDate;
+    private boolean notified;                               // true αφού εμφανιστεί η ειδοποίηση
 
-    // Empty constructor for JSON
+    // Ενημερώνεται για αλλαγές του task και της ημερομηνίας (το DataManager, όσο το reminder είναι στη λίστα του)
+    private Observer observer;
+
+    // Τα JavaFX properties, μόνο αφού ζητηθεί κάποιο· κάθε property έχει ως bean το ίδιο το Reminder
+    private BackedObjectProperty<EntityId> taskIdProperty;
+    private BackedObjectProperty<ReminderType> typeProperty;
+    private BackedObjectProperty<LocalDate> reminderDateProperty;
+
+    /**
+     * Receives the changes of the values a reminder is indexed and scheduled by.
+     * Called only when the value actually changes.
+     */
+    interface Observer {
+        void taskIdChanged(Reminder reminder, EntityId oldId, EntityId newId);
+
+        void reminderDateChanged(Reminder reminder, LocalDate oldDate, LocalDate newDate);
+    }
+
+    // Empty constructor
     public Reminder() {
+        this((EntityId) null);
     }
 
-    public Reminder(String taskId, ReminderType type, LocalDate reminderDate) {
-        this.id = UUID.randomUUID().toString();
+    // Constructor for JSON: keeps the stored id (a new one only if the file has none),
+    // the other values are set through the setters
+    @JsonCreator
+    public Reminder(@JsonProperty("id") EntityId id) {
+        this.id = (id != null) ? id : EntityId.generate();
+    }
+
+    public Reminder(EntityId taskId, ReminderType type, LocalDate reminderDate) {
+        this.id = EntityId.generate();
         this.taskId = taskId;
         this.type = type;
         this.reminderDate = reminderDate;
     }
 
     // Getters / Setters
-    public String getId() {
+    public EntityId getId() {
         return id;
     }
 
-    public void setId(String id) {
+    public void setId(EntityId id) {
         this.id = id;
     }
 
-    public String getTaskId() {
+    public EntityId getTaskId() {
         return taskId;
     }
 
-    public void setTaskId(String taskId) {
-        this.taskId = taskId;
+    public void setTaskId(EntityId taskId) {
+        storeTaskId(taskId);
+        syncIfUnobserved();
+    }
+
+    public ObjectProperty<EntityId> taskIdProperty() {
+        if (taskIdProperty == null) {
+            taskIdProperty = new BackedObjectProperty<>(this, "taskId", taskId, this::storeTaskId);
+        }
+        return taskIdProperty;
     }
 
     public ReminderType getType() {
@@ -45,7 +87,15 @@ public class Reminder {
     }
 
     public void setType(ReminderType type) {
-        this.type = type;
+        storeType(type);
+        syncIfUnobserved();
+    }
+
+    public ObjectProperty<ReminderType> typeProperty() {
+        if (typeProperty == null) {
+            typeProperty = new BackedObjectProperty<>(this, "type", type, this::storeType);
+        }
+        return typeProperty;
     }
 
     public LocalDate getReminderDate() {
@@ -53,6 +103,74 @@ public class Reminder {
     }
 
     public void setReminderDate(LocalDate reminderDate) {
-        this.reminderDate = reminderDate;
+        storeReminderDate(reminderDate);
+        syncIfUnobserved();
+    }
+
+    public ObjectProperty<LocalDate> reminderDateProperty() {
+        if (reminderDateProperty == null) {
+            reminderDateProperty = new BackedObjectProperty<>(this, "reminderDate", reminderDate, this::storeReminderDate);
+        }
+        return reminderDateProperty;
+    }
+
+    /**
+     * @return true if the user has already been notified of this reminder
+     */
+    public boolean isNotified() {
+        return notified;
+    }
+
+    public void setNotified(boolean notified) {
+        this.notified = notified;
+    }
+
+    /**
+     * Brings the JavaFX properties created so far up to date with the fields, notifying their
+     * listeners of the values that changed. Called on the JavaFX thread.
+     */
+    void syncProperties() {
+        if (taskIdProperty != null) taskIdProperty.sync(taskId);
+        if (typeProperty != null) typeProperty.sync(type);
+        if (reminderDateProperty != null) reminderDateProperty.sync(reminderDate);
+    }
+
+    /**
+     * Sets the observer that is told about changes of this reminder, replacing the previous one.
+     *
+     * @param observer the observer, or null for none
+     */
+    void setObserver(Observer observer) {
+        this.observer = observer;
+    }
+
+    // Οι store* μέθοδοι αλλάζουν το πεδίο και ενημερώνουν τον observer· καλούνται είτε από τους
+    // setters είτε από το αντίστοιχο property, όταν αυτό υπάρχει
+
+    private void storeTaskId(EntityId newId) {
+        EntityId oldId = taskId;
+        taskId = newId;
+        if (observer != null && !Objects.equals(oldId, newId)) {
+            observer.taskIdChanged(this, oldId, newId);
+        }
+    }
+
+    private void storeType(ReminderType newType) {
+        type = newType;
+    }
+
+    private void storeReminderDate(LocalDate newDate) {
+        LocalDate oldDate = reminderDate;
+        reminderDate = newDate;
+        if (observer != null && !Objects.equals(oldDate, newDate)) {
+            observer.reminderDateChanged(this, oldDate, newDate);
+        }
+    }
+
+    // Χωρίς observer το reminder δεν ανήκει σε DataManager: τα properties ενημερώνονται αμέσως
+    private void syncIfUnobserved() {
+        if (observer == null) {
+            syncProperties();
+        }
     }
 }
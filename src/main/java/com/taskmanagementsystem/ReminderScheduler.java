@@ -0,0 +1,154 @@
+package com.taskmanagementsystem;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Fires reminders when their date arrives (at the start of that day, local time).
+ *
+ * Pending reminders wait in a {@link DelayQueue}, ordered by due time, so the dispatcher
+ * thread sleeps until the earliest one is due and never scans the others. Rescheduling or
+ * cancelling a reminder does not search the queue: the reminder's current entry is kept in
+ * a map and entries that are no longer current are skipped when they come out of the queue
+ * (and purged in bulk once they outnumber the live ones).
+ *
+ * Reminders whose date has already passed when they are scheduled (e.g. missed while the
+ * application was closed) are due immediately.
+ */
+class ReminderScheduler {
+    // The due time is re-checked at least this often, in case the clock changes or the machine sleeps
+    private static final long MAX_WAIT_MILLIS = TimeUnit.HOURS.toMillis(1);
+    private static final int MIN_STALE_TO_PURGE = 1024;
+
+    private final DelayQueue<Entry> queue = new DelayQueue<>();
+    private final Map<Reminder, Entry> current = new ConcurrentHashMap<>();
+    private final AtomicInteger stale = new AtomicInteger();
+    private Thread dispatcher;
+
+    /**
+     * Schedules a reminder for its date, replacing any earlier schedule of it.
+     * Reminders without a date are cancelled.
+     */
+    void schedule(Reminder reminder) {
+        LocalDate date = reminder.getReminderDate();
+        if (date == null) {
+            cancel(reminder);
+            return;
+        }
+        long dueAt = date.atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        Entry previous = current.get(reminder);
+        if (previous != null && previous.dueAt == dueAt) return;
+
+        Entry entry = new Entry(reminder, dueAt);
+        if (current.put(reminder, entry) != null) {
+            staleEntryLeft();
+        }
+        queue.add(entry);
+    }
+
+    /**
+     * Stops a reminder from firing. Its queued entry is dropped lazily.
+     */
+    void cancel(Reminder reminder) {
+        if (current.remove(reminder) != null) {
+            staleEntryLeft();
+        }
+    }
+
+    /**
+     * @return the number of reminders waiting to fire
+     */
+    int pendingCount() {
+        return current.size();
+    }
+
+    /**
+     * Starts the dispatcher thread.
+     *
+     * @param onDue receives the reminders that became due together, on the dispatcher thread;
+     *              every reminder is delivered once (scheduling it again re-arms it)
+     */
+    synchronized void start(Consumer<List<Reminder>> onDue) {
+        if (dispatcher != null) return;
+        dispatcher = new Thread(() -> dispatch(onDue), "reminder-dispatcher");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    synchronized void stop() {
+        if (dispatcher == null) return;
+        dispatcher.interrupt();
+        dispatcher = null;
+    }
+
+    private void dispatch(Consumer<List<Reminder>> onDue) {
+        List<Entry> batch = new ArrayList<>();
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                Entry first = queue.poll(MAX_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+            } catch (InterruptedException e) {
+                return;
+            }
+            // Everything else that is due by now is delivered together
+            queue.drainTo(batch);
+
+            List<Reminder> due = new ArrayList<>(batch.size());
+            for (Entry entry : batch) {
+                // Only the current entry of a reminder fires; older ones were rescheduled or cancelled
+                if (current.remove(entry.reminder, entry)) {
+                    due.add(entry.reminder);
+                } else {
+                    stale.decrementAndGet();
+                }
+            }
+            batch.clear();
+            if (!due.isEmpty()) {
+                try {
+                    onDue.accept(due);
+                } catch (RuntimeException e) {
+                    e.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private void staleEntryLeft() {
+        int count = stale.incrementAndGet();
+        if (count >= MIN_STALE_TO_PURGE && count > current.size()) {
+            stale.set(0);
+            queue.removeIf(e -> current.get(e.reminder) != e);
+        }
+    }
+
+    private static final class Entry implements Delayed {
+        private final Reminder reminder;
+        private final long dueAt; // epoch millis
+
+        Entry(Reminder reminder, long dueAt) {
+            this.reminder = reminder;
+            this.dueAt = dueAt;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            // Wall clock time, so that a clock change or a sleep does not postpone the reminder
+            return unit.convert(dueAt - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAt, ((Entry) other).dueAt);
+        }
+    }
+}
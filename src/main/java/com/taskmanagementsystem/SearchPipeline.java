@@ -0,0 +1,263 @@
+package com.taskmanagementsystem;
+
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.util.Duration;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+
+/**
+ * Search-as-you-type for the Search tab: runs each query on a background thread and hands
+ * only the result of the latest one back to the JavaFX thread.
+ *
+ * Keystrokes are debounced, so a query starts once typing pauses. Starting a query cancels
+ * the one still running (its thread is interrupted and the scan stops within a few thousand
+ * tasks); a result that arrives after a newer query was started is dropped.
+ *
+ * The results are kept in a list of their own ({@link #getResults()}). Publishing a result
+ * only removes the tasks that stopped matching and appends the ones that started to, so the
+ * JavaFX thread does work in proportion to the old and new results, not to all tasks.
+ * Tasks changed while the query ran, and changed afterwards, are tested against the query
+ * one by one (see {@link #tasksChanged(Collection, Collection)}).
+ *
+ * All methods must be called on the JavaFX thread.
+ */
+class SearchPipeline {
+    private static final Duration DEBOUNCE = Duration.millis(200);
+
+    private final DataManager dataManager;
+    private final Runnable statsChanged;
+    private final PauseTransition debounce = new PauseTransition(DEBOUNCE);
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "task-search");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final ObservableList<Task> results = FXCollections.observableArrayList();
+    private final ObservableList<Task> readOnlyResults = FXCollections.unmodifiableObservableList(results);
+    // The tasks in results, for lookups by identity
+    private Set<Task> shown = newIdentitySet();
+    // Filter of the published query, for tasks changed after it was published
+    private Predicate<Task> current;
+    private TaskQuery lastQuery;
+
+    private TaskQuery pendingQuery;
+    private Future<?> running;
+    private long generation;
+    // Tasks changed or removed since the running query started: its result may be stale for them
+    private Set<Task> changedSinceStart = newIdentitySet();
+    private Set<Task> removedSinceStart = newIdentitySet();
+
+    // Instrumentation
+    private long completed;
+    private long cancelled;
+    private long totalLatencyNanos;
+    private long lastLatencyNanos;
+
+    /**
+     * @param statsChanged called after a query was published or cancelled (see the counters)
+     */
+    SearchPipeline(DataManager dataManager, Runnable statsChanged) {
+        this.dataManager = dataManager;
+        this.statsChanged = statsChanged;
+        debounce.setOnFinished(e -> start());
+    }
+
+    /**
+     * @return the tasks matching the latest published query, kept up to date as tasks change
+     */
+    ObservableList<Task> getResults() {
+        return readOnlyResults;
+    }
+
+    /**
+     * Searches once typing has paused for a moment.
+     */
+    void searchSoon(TaskQuery query) {
+        pendingQuery = query;
+        debounce.playFromStart();
+    }
+
+    /**
+     * Searches right away (e.g. a ComboBox selection, which is not followed by more input).
+     */
+    void searchNow(TaskQuery query) {
+        pendingQuery = query;
+        debounce.stop();
+        start();
+    }
+
+    /**
+     * Brings the results up to date with tasks that were added, edited or removed, and tells
+     * a running query not to trust its result for them.
+     *
+     * @param changed tasks added or edited
+     * @param removed tasks removed
+     */
+    void tasksChanged(Collection<Task> changed, Collection<Task> removed) {
+        changedSinceStart.addAll(changed);
+        removedSinceStart.addAll(removed);
+        if (current == null) return;
+
+        Set<Task> leaving = newIdentitySet();
+        List<Task> entering = new ArrayList<>();
+        for (Task task : removed) {
+            if (shown.remove(task)) leaving.add(task);
+        }
+        for (Task task : changed) {
+            if (current.test(task)) {
+                if (shown.add(task)) entering.add(task);
+            } else if (shown.remove(task)) {
+                leaving.add(task);
+            }
+        }
+        if (!leaving.isEmpty()) results.removeAll(leaving);
+        if (!entering.isEmpty()) results.addAll(entering);
+    }
+
+    /**
+     * Runs the latest query again, once the data has been (re)loaded.
+     */
+    void dataReloaded() {
+        TaskQuery query = (pendingQuery != null) ? pendingQuery : lastQuery;
+        if (query != null) {
+            searchSoon(query);
+        }
+    }
+
+    /**
+     * @return the number of queries whose result was published
+     */
+    long getCompletedCount() {
+        return completed;
+    }
+
+    /**
+     * @return the number of queries cancelled or superseded before their result was published
+     */
+    long getCancelledCount() {
+        return cancelled;
+    }
+
+    /**
+     * @return the time from the start of the last published query to its publication, in ms
+     */
+    long getLastLatencyMillis() {
+        return lastLatencyNanos / 1_000_000;
+    }
+
+    /**
+     * @return the average time from the start of a query to its publication, in ms
+     */
+    long getAverageLatencyMillis() {
+        return completed == 0 ? 0 : totalLatencyNanos / completed / 1_000_000;
+    }
+
+    void shutdown() {
+        debounce.stop();
+        executor.shutdownNow();
+    }
+
+    private void start() {
+        TaskQuery query = pendingQuery;
+        if (query == null) return;
+        pendingQuery = null;
+        lastQuery = query;
+        if (running != null && running.cancel(true)) {
+            cancelled++;
+            statsChanged.run();
+        }
+        long startNanos = System.nanoTime();
+        long queryGeneration = ++generation;
+        Set<Task> changed = newIdentitySet();
+        Set<Task> removed = newIdentitySet();
+        changedSinceStart = changed;
+        removedSinceStart = removed;
+        // Live filter: planned now, cheap to build; tests one task against the current data
+        Predicate<Task> live = dataManager.taskFilter(query);
+
+        running = executor.submit(() -> {
+            List<Task> matches;
+            try {
+                matches = dataManager.searchTasks(query);
+            } catch (CancellationException e) {
+                return;
+            }
+            Set<Task> matchSet = newIdentitySet();
+            matchSet.addAll(matches);
+            Platform.runLater(() -> {
+                if (queryGeneration != generation) {
+                    // A newer query started after this one had finished its scan
+                    cancelled++;
+                    statsChanged.run();
+                    return;
+                }
+                running = null;
+                publish(matches, matchSet, changed, removed, live);
+
+                lastLatencyNanos = System.nanoTime() - startNanos;
+                totalLatencyNanos += lastLatencyNanos;
+                completed++;
+                statsChanged.run();
+            });
+        });
+    }
+
+    /**
+     * Replaces the results with those of a finished query, touching only the tasks that differ.
+     *
+     * @param matches  the result of the query, in its order
+     * @param matchSet the same tasks, as a set; adjusted in place for the changed tasks
+     * @param changed  tasks added or edited while the query ran
+     * @param removed  tasks removed while the query ran
+     * @param live     the filter of the query, for the changed tasks
+     */
+    private void publish(List<Task> matches, Set<Task> matchSet, Set<Task> changed,
+                         Set<Task> removed, Predicate<Task> live) {
+        for (Task task : changed) {
+            if (live.test(task)) {
+                matchSet.add(task);
+            } else {
+                matchSet.remove(task);
+            }
+        }
+        matchSet.removeAll(removed);
+
+        Set<Task> leaving = newIdentitySet();
+        for (Task task : shown) {
+            if (!matchSet.contains(task)) leaving.add(task);
+        }
+        if (!leaving.isEmpty()) {
+            results.removeAll(leaving);
+            shown.removeAll(leaving);
+        }
+        List<Task> entering = new ArrayList<>();
+        for (Task task : matches) {
+            if (matchSet.contains(task) && shown.add(task)) entering.add(task);
+        }
+        for (Task task : changed) {
+            if (matchSet.contains(task) && shown.add(task)) entering.add(task);
+        }
+        if (!entering.isEmpty()) {
+            results.addAll(entering);
+        }
+        current = live;
+    }
+
+    private static Set<Task> newIdentitySet() {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+}
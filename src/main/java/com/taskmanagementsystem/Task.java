@@ -1,130 +1,347 @@
 package com.taskmanagementsystem;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import javafx.beans.property.ObjectProperty;
-import javafx.beans.property.SimpleObjectProperty;
-import javafx.beans.property.SimpleStringProperty;
 import javafx.beans.property.StringProperty;
 import java.time.LocalDate;
-import java.util.UUID;
+import java.util.Objects;
 
 /**
  * Represents a Task with title, description, category, priority, deadline and status.
+ *
+ * The values are kept in plain fields (the deadline as an epoch day, the status as an ordinal);
+ * the JavaFX properties are created only when first asked for, which normally happens only
+ * for the rows shown in a table. Changes are reported to the {@link Observer} of the task,
+ * whether they are made through a setter or through a property.
+ *
+ * The setters change only the fields, so they may run on any thread (a task in a
+ * {@link DataManager} is changed under its lock). The properties belong to the JavaFX thread:
+ * they are brought up to date by {@link #syncProperties()}, which the DataManager calls there
+ * after each operation that changed the task, and right away for a task without observer.
  */
 public class Task {
-    private final String id;
-    private final StringProperty title;
-    private final StringProperty description;
-    private final StringProperty categoryId;   // observable property για Category ID
-    private final StringProperty priorityId;   // observable property για Priority ID
-    private final ObjectProperty<LocalDate> deadline;
-    private final ObjectProperty<TaskStatus> status; // observable property για Status
-
-    // Empty constructor for JSON
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final int NO_DEADLINE = Integer.MIN_VALUE;
+    private static final byte NO_STATUS = -1;
+
+    private final EntityId id;
+    private String title;
+    private String description;
+    private EntityId categoryId;
+    private EntityId priorityId;
+    private int deadline = NO_DEADLINE;            // epoch day
+    private byte status = (byte) TaskStatus.OPEN.ordinal();
+
+    // Ο τίτλος σε case-folded μορφή, για αναζήτηση χωρίς δημιουργία strings ανά σύγκριση
+    // (το ίδιο String με τον τίτλο, όταν ο τίτλος είναι ήδη σε αυτή τη μορφή)
+    private String foldedTitle;
+
+    // Θέση του task στα bitmaps του TaskFacetIndex (-1 όσο δεν είναι καταχωρημένο)
+    private int ordinal = -1;
+
+    // Ενημερώνεται για κάθε αλλαγή (το DataManager, όσο το task είναι στη λίστα του)
+    private Observer observer;
+
+    // Τα JavaFX properties, μόνο αφού ζητηθεί κάποιο
+    private Properties properties;
+
+    /**
+     * Receives the changes of a task's values, with the old and the new value.
+     * Called only when the value actually changes.
+     */
+    interface Observer {
+        void titleChanged(Task task, String oldTitle, String newTitle);
+
+        void descriptionChanged(Task task, String oldDescription, String newDescription);
+
+        void categoryIdChanged(Task task, EntityId oldId, EntityId newId);
+
+        void priorityIdChanged(Task task, EntityId oldId, EntityId newId);
+
+        void deadlineChanged(Task task, LocalDate oldDeadline, LocalDate newDeadline);
+
+        void statusChanged(Task task, TaskStatus oldStatus, TaskStatus newStatus);
+    }
+
+    // Empty constructor
     public Task() {
-        this.id = UUID.randomUUID().toString();
-        this.title = new SimpleStringProperty("");
-        this.description = new SimpleStringProperty("");
-        this.categoryId = new SimpleStringProperty();
-        this.priorityId = new SimpleStringProperty();
-        this.deadline = new SimpleObjectProperty<>();
-        this.status = new SimpleObjectProperty<>(TaskStatus.OPEN);
+        this(EntityId.generate());
+    }
+
+    // Constructor for JSON: keeps the stored id (a new one only if the file has none),
+    // the other values are set through the setters
+    @JsonCreator
+    public Task(@JsonProperty("id") EntityId id) {
+        this.id = (id != null) ? id : EntityId.generate();
+        storeTitle("");
+        this.description = "";
     }
 
-    public Task(String title, String description, String categoryId, String priorityId, LocalDate deadline) {
-        this.id = UUID.randomUUID().toString();
-        this.title = new SimpleStringProperty(title);
-        this.description = new SimpleStringProperty(description);
-        this.categoryId = new SimpleStringProperty(categoryId);
-        this.priorityId = new SimpleStringProperty(priorityId);
-        this.deadline = new SimpleObjectProperty<>(deadline);
-        this.status = new SimpleObjectProperty<>(TaskStatus.OPEN);
+    public Task(String title, String description, EntityId categoryId, EntityId priorityId, LocalDate deadline) {
+        this.id = EntityId.generate();
+        storeTitle(title);
+        this.description = description;
+        this.categoryId = categoryId;
+        this.priorityId = priorityId;
+        this.deadline = toEpochDay(deadline);
     }
 
     // Getters & Setters
-    public String getId() {
+    public EntityId getId() {
         return id;
     }
 
     public String getTitle() {
-        return title.get();
+        return title;
     }
 
     public void setTitle(String title) {
-        this.title.set(title);
+        storeTitle(title);
+        syncIfUnobserved();
     }
 
     public StringProperty titleProperty() {
-        return title;
+        Properties p = properties();
+        if (p.title == null) {
+            p.title = new BackedStringProperty(this, "title", title, this::storeTitle);
+        }
+        return p.title;
+    }
+
+    /**
+     * @return the title, case-folded with {@link TitleMatcher#fold(String)}
+     */
+    String foldedTitle() {
+        return foldedTitle;
     }
 
     public String getDescription() {
-        return description.get();
+        return description;
     }
 
     public void setDescription(String description) {
-        this.description.set(description);
+        storeDescription(description);
+        syncIfUnobserved();
     }
 
     public StringProperty descriptionProperty() {
-        return description;
+        Properties p = properties();
+        if (p.description == null) {
+            p.description = new BackedStringProperty(this, "description", description, this::storeDescription);
+        }
+        return p.description;
     }
 
-    public String getCategoryId() {
-        return categoryId.get();
+    public EntityId getCategoryId() {
+        return categoryId;
     }
 
-    public void setCategoryId(String categoryId) {
-        this.categoryId.set(categoryId);
+    public void setCategoryId(EntityId categoryId) {
+        storeCategoryId(categoryId);
+        syncIfUnobserved();
     }
 
-    public StringProperty categoryIdProperty() {
-        return categoryId;
+    public ObjectProperty<EntityId> categoryIdProperty() {
+        Properties p = properties();
+        if (p.categoryId == null) {
+            p.categoryId = new BackedObjectProperty<>(this, "categoryId", categoryId, this::storeCategoryId);
+        }
+        return p.categoryId;
     }
 
-    public String getPriorityId() {
-        return priorityId.get();
+    public EntityId getPriorityId() {
+        return priorityId;
     }
 
-    public void setPriorityId(String priorityId) {
-        this.priorityId.set(priorityId);
+    public void setPriorityId(EntityId priorityId) {
+        storePriorityId(priorityId);
+        syncIfUnobserved();
     }
 
-    public StringProperty priorityIdProperty() {
-        return priorityId;
+    public ObjectProperty<EntityId> priorityIdProperty() {
+        Properties p = properties();
+        if (p.priorityId == null) {
+            p.priorityId = new BackedObjectProperty<>(this, "priorityId", priorityId, this::storePriorityId);
+        }
+        return p.priorityId;
     }
 
     public LocalDate getDeadline() {
-        return deadline.get();
+        return deadline == NO_DEADLINE ? null : LocalDate.ofEpochDay(deadline);
     }
 
+    /**
+     * @throws ArithmeticException if the date is millions of years away
+     */
     public void setDeadline(LocalDate deadline) {
-        this.deadline.set(deadline);
+        storeDeadline(deadline);
+        syncIfUnobserved();
     }
 
     public ObjectProperty<LocalDate> deadlineProperty() {
-        return deadline;
+        Properties p = properties();
+        if (p.deadline == null) {
+            p.deadline = new BackedObjectProperty<>(this, "deadline", getDeadline(), this::storeDeadline);
+        }
+        return p.deadline;
     }
 
     public TaskStatus getStatus() {
-        return status.get();
+        return status == NO_STATUS ? null : STATUSES[status];
     }
 
     public void setStatus(TaskStatus status) {
-        this.status.set(status);
+        storeStatus(status);
+        syncIfUnobserved();
     }
 
     public ObjectProperty<TaskStatus> statusProperty() {
-        return status;
+        Properties p = properties();
+        if (p.status == null) {
+            p.status = new BackedObjectProperty<>(this, "status", getStatus(), this::storeStatus);
+        }
+        return p.status;
+    }
+
+    /**
+     * @return the ordinal of this task in the {@link TaskFacetIndex}, or -1 if not indexed
+     */
+    int ordinal() {
+        return ordinal;
+    }
+
+    void assignOrdinal(int ordinal) {
+        this.ordinal = ordinal;
+    }
+
+    /**
+     * Brings the JavaFX properties created so far up to date with the fields, notifying their
+     * listeners of the values that changed. Called on the JavaFX thread.
+     */
+    void syncProperties() {
+        Properties p = properties;
+        if (p == null) return;
+        if (p.title != null) p.title.sync(title);
+        if (p.description != null) p.description.sync(description);
+        if (p.categoryId != null) p.categoryId.sync(categoryId);
+        if (p.priorityId != null) p.priorityId.sync(priorityId);
+        if (p.deadline != null) p.deadline.sync(getDeadline());
+        if (p.status != null) p.status.sync(getStatus());
+    }
+
+    /**
+     * Sets the observer that is told about every change of this task, replacing the previous one.
+     *
+     * @param observer the observer, or null for none
+     */
+    void setObserver(Observer observer) {
+        this.observer = observer;
     }
 
     /**
      * Ελέγχει εάν το task πρέπει να είναι DELAYED (deadline έχει παρέλθει και δεν έχει ολοκληρωθεί)
      */
     public void checkIfShouldBeDelayed() {
-        if (!getStatus().equals(TaskStatus.COMPLETED) && getDeadline() != null) {
-            if (getDeadline().isBefore(LocalDate.now())) {
+        checkIfShouldBeDelayed(LocalDate.now());
+    }
+
+    /**
+     * Όπως το {@link #checkIfShouldBeDelayed()}, με δεδομένη τη σημερινή ημερομηνία
+     * (ώστε να μην καλείται LocalDate.now() για κάθε task)
+     */
+    public void checkIfShouldBeDelayed(LocalDate today) {
+        if (!getStatus().equals(TaskStatus.COMPLETED) && deadline != NO_DEADLINE) {
+            if (deadline < today.toEpochDay()) {
                 setStatus(TaskStatus.DELAYED);
             }
         }
     }
+
+    // Οι store* μέθοδοι αλλάζουν το πεδίο και ενημερώνουν τον observer· καλούνται είτε από τους
+    // setters είτε από το αντίστοιχο property, όταν αυτό υπάρχει
+
+    private void storeTitle(String newTitle) {
+        String oldTitle = title;
+        title = newTitle;
+        String folded = TitleMatcher.fold(newTitle);
+        foldedTitle = Objects.equals(folded, newTitle) ? newTitle : folded;
+        if (observer != null && !Objects.equals(oldTitle, newTitle)) {
+            observer.titleChanged(this, oldTitle, newTitle);
+        }
+    }
+
+    private void storeDescription(String newDescription) {
+        String oldDescription = description;
+        description = newDescription;
+        if (observer != null && !Objects.equals(oldDescription, newDescription)) {
+            observer.descriptionChanged(this, oldDescription, newDescription);
+        }
+    }
+
+    private void storeCategoryId(EntityId newId) {
+        EntityId oldId = categoryId;
+        categoryId = newId;
+        if (observer != null && !Objects.equals(oldId, newId)) {
+            observer.categoryIdChanged(this, oldId, newId);
+        }
+    }
+
+    private void storePriorityId(EntityId newId) {
+        EntityId oldId = priorityId;
+        priorityId = newId;
+        if (observer != null && !Objects.equals(oldId, newId)) {
+            observer.priorityIdChanged(this, oldId, newId);
+        }
+    }
+
+    private void storeDeadline(LocalDate newDeadline) {
+        int newEpochDay = toEpochDay(newDeadline);
+        if (newEpochDay == deadline) return;
+        LocalDate oldDeadline = getDeadline();
+        deadline = newEpochDay;
+        if (observer != null) {
+            observer.deadlineChanged(this, oldDeadline, newDeadline);
+        }
+    }
+
+    private void storeStatus(TaskStatus newStatus) {
+        byte newOrdinal = newStatus == null ? NO_STATUS : (byte) newStatus.ordinal();
+        if (newOrdinal == status) return;
+        TaskStatus oldStatus = getStatus();
+        status = newOrdinal;
+        if (observer != null) {
+            observer.statusChanged(this, oldStatus, newStatus);
+        }
+    }
+
+    // Χωρίς observer το task δεν ανήκει σε DataManager: τα properties ενημερώνονται αμέσως
+    private void syncIfUnobserved() {
+        if (observer == null) {
+            syncProperties();
+        }
+    }
+
+    private static int toEpochDay(LocalDate date) {
+        return date == null ? NO_DEADLINE : Math.toIntExact(date.toEpochDay());
+    }
+
+    private Properties properties() {
+        if (properties == null) {
+            properties = new Properties();
+        }
+        return properties;
+    }
+
+    /**
+     * The JavaFX properties created so far.
+     */
+    private static final class Properties {
+        BackedStringProperty title;
+        BackedStringProperty description;
+        BackedObjectProperty<EntityId> categoryId;
+        BackedObjectProperty<EntityId> priorityId;
+        BackedObjectProperty<LocalDate> deadline;
+        BackedObjectProperty<TaskStatus> status;
+    }
 }
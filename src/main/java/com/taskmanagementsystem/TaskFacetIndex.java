@@ -0,0 +1,177 @@
+package com.taskmanagementsystem;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bitmap indexes over the facets used to filter tasks: status, category and priority.
+ *
+ * Every indexed task gets a small ordinal (freed ordinals are reused, so they stay dense)
+ * and every facet value has a bitmap with the ordinals of its tasks. Filtering by several
+ * facets is then an intersection of bitmaps, checking one task is a bit test and the
+ * number of tasks of a facet value is the cardinality of its bitmap.
+ * Tasks without a category are indexed under the {@code null} category id.
+ *
+ * The bitmaps returned by the {@code *Bits} methods are live: they follow later changes
+ * and must not be modified by the caller. Those methods only read the index, so several
+ * threads may call them at once (while no task is being changed); the bitmap of a category
+ * or priority is created when it is registered or first used by a task.
+ */
+class TaskFacetIndex {
+    private static final BitSet EMPTY = new BitSet();
+
+    private final List<Task> byOrdinal = new ArrayList<>();
+    private final BitSet used = new BitSet();
+    // No ordinal below this one is free
+    private int firstFree;
+
+    private final Map<TaskStatus, BitSet> byStatus = new EnumMap<>(TaskStatus.class);
+    private final Map<EntityId, BitSet> byCategory = new HashMap<>();
+    private final Map<EntityId, BitSet> byPriority = new HashMap<>();
+
+    TaskFacetIndex() {
+        for (TaskStatus status : TaskStatus.values()) {
+            byStatus.put(status, new BitSet());
+        }
+        byCategory.put(null, new BitSet());
+    }
+
+    /**
+     * Creates the (empty) bitmap of a new category, so that filters on it see its future tasks.
+     */
+    void addCategory(EntityId categoryId) {
+        byCategory.computeIfAbsent(categoryId, id -> new BitSet());
+    }
+
+    /**
+     * Creates the (empty) bitmap of a new priority, so that filters on it see its future tasks.
+     */
+    void addPriority(EntityId priorityId) {
+        byPriority.computeIfAbsent(priorityId, id -> new BitSet());
+    }
+
+    void add(Task task) {
+        int ordinal = used.nextClearBit(firstFree);
+        firstFree = ordinal + 1;
+        used.set(ordinal);
+        if (ordinal == byOrdinal.size()) {
+            byOrdinal.add(task);
+        } else {
+            byOrdinal.set(ordinal, task);
+        }
+        task.assignOrdinal(ordinal);
+
+        mutableBits(byStatus, task.getStatus()).set(ordinal);
+        mutableBits(byCategory, task.getCategoryId()).set(ordinal);
+        mutableBits(byPriority, task.getPriorityId()).set(ordinal);
+    }
+
+    void remove(Task task) {
+        int ordinal = task.ordinal();
+        if (ordinal < 0 || byOrdinal.get(ordinal) != task) return;
+
+        mutableBits(byStatus, task.getStatus()).clear(ordinal);
+        mutableBits(byCategory, task.getCategoryId()).clear(ordinal);
+        mutableBits(byPriority, task.getPriorityId()).clear(ordinal);
+
+        byOrdinal.set(ordinal, null);
+        used.clear(ordinal);
+        firstFree = Math.min(firstFree, ordinal);
+        task.assignOrdinal(-1);
+    }
+
+    void statusChanged(Task task, TaskStatus oldStatus, TaskStatus newStatus) {
+        move(byStatus.get(oldStatus), mutableBits(byStatus, newStatus), task);
+    }
+
+    void categoryChanged(Task task, EntityId oldId, EntityId newId) {
+        move(byCategory.get(oldId), mutableBits(byCategory, newId), task);
+    }
+
+    void priorityChanged(Task task, EntityId oldId, EntityId newId) {
+        move(byPriority.get(oldId), mutableBits(byPriority, newId), task);
+    }
+
+    /**
+     * @return the ordinals of all indexed tasks (live)
+     */
+    BitSet allBits() {
+        return used;
+    }
+
+    /**
+     * @return the ordinals of the tasks with the given status (live)
+     */
+    BitSet statusBits(TaskStatus status) {
+        return byStatus.getOrDefault(status, EMPTY);
+    }
+
+    /**
+     * @param categoryId a category id, or null for the tasks without category
+     * @return the ordinals of the tasks of that category (live)
+     */
+    BitSet categoryBits(EntityId categoryId) {
+        return byCategory.getOrDefault(categoryId, EMPTY);
+    }
+
+    /**
+     * @return the ordinals of the tasks with the given priority (live)
+     */
+    BitSet priorityBits(EntityId priorityId) {
+        return byPriority.getOrDefault(priorityId, EMPTY);
+    }
+
+    /**
+     * @return true if the task is one of the tasks of the bitmap
+     */
+    static boolean contains(BitSet bits, Task task) {
+        int ordinal = task.ordinal();
+        return ordinal >= 0 && bits.get(ordinal);
+    }
+
+    /**
+     * @return the tasks whose ordinals are set in the bitmap, in ordinal order
+     */
+    List<Task> tasksOf(BitSet bits) {
+        List<Task> result = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            result.add(byOrdinal.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * Drops the bitmap of a deleted category; its tasks have already been removed.
+     */
+    void forgetCategory(EntityId categoryId) {
+        BitSet bits = byCategory.get(categoryId);
+        if (categoryId != null && bits != null && bits.isEmpty()) {
+            byCategory.remove(categoryId);
+        }
+    }
+
+    /**
+     * Drops the bitmap of a deleted priority; its tasks have already been moved.
+     */
+    void forgetPriority(EntityId priorityId) {
+        BitSet bits = byPriority.get(priorityId);
+        if (bits != null && bits.isEmpty()) {
+            byPriority.remove(priorityId);
+        }
+    }
+
+    private static <K> BitSet mutableBits(Map<K, BitSet> bitmaps, K key) {
+        return bitmaps.computeIfAbsent(key, k -> new BitSet());
+    }
+
+    private static void move(BitSet from, BitSet to, Task task) {
+        int ordinal = task.ordinal();
+        if (ordinal < 0) return;
+        if (from != null) from.clear(ordinal);
+        to.set(ordinal);
+    }
+}
@@ -0,0 +1,77 @@
+package com.taskmanagementsystem;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * One page of the results of {@link DataManager#searchTasksPage(TaskQuery, int, String)}.
+ *
+ * Results are ordered by task id, which never changes, so paging with the cursor neither
+ * skips nor repeats tasks when other tasks are created or deleted in between.
+ */
+public class TaskPage {
+    private static final String CURSOR_PREFIX = "after:";
+
+    private final List<Task> tasks;
+    private final String nextCursor;
+
+    TaskPage(List<Task> tasks, String nextCursor) {
+        this.tasks = Collections.unmodifiableList(tasks);
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * @return the tasks of this page, in ascending id order
+     */
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    /**
+     * @return the cursor of the next page, or null if there are no more results.
+     *         A full page may be followed by an empty one.
+     */
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean hasNextPage() {
+        return nextCursor != null;
+    }
+
+    static String encodeCursor(EntityId lastId) {
+        byte[] bytes = (CURSOR_PREFIX + lastId).getBytes(StandardCharsets.UTF_8);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    /**
+     * @return the id of the last task of the previous page
+     * @throws IllegalArgumentException if the cursor was not produced by a TaskPage
+     */
+    static EntityId decodeCursor(String cursor) {
+        String decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor, e);
+        }
+        if (!decoded.startsWith(CURSOR_PREFIX)) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+        }
+        // Strict: EntityId.parse would map any other text to a name-based id
+        String idText = decoded.substring(CURSOR_PREFIX.length());
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(idText);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor, e);
+        }
+        if (!uuid.toString().equals(idText)) {
+            throw new IllegalArgumentException("Invalid page cursor: " + cursor);
+        }
+        return EntityId.of(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+}
@@ -0,0 +1,151 @@
+package com.taskmanagementsystem;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The criteria of a task search, combined with AND.
+ * A criterion that is not set does not filter; an empty query matches every task.
+ *
+ * <pre>
+ * List&lt;Task&gt; result = dataManager.searchTasks(new TaskQuery()
+ *         .title("report")
+ *         .text("quarterly budget")
+ *         .noCategory()
+ *         .statuses(TaskStatus.OPEN, TaskStatus.DELAYED)
+ *         .deadlineBetween(LocalDate.now(), null));
+ * </pre>
+ *
+ * @see DataManager#searchTasks(TaskQuery)
+ * @see DataManager#explain(TaskQuery)
+ */
+public class TaskQuery {
+    private String title;
+    private String text;
+    private boolean categoryFiltered;
+    private EntityId categoryId;
+    private EntityId priorityId;
+    private Set<TaskStatus> statuses;
+    private LocalDate deadlineFrom;
+    private LocalDate deadlineTo;
+
+    /**
+     * @param title text the title must contain, ignoring case (null or empty => no filter)
+     * @return this query
+     */
+    public TaskQuery title(String title) {
+        this.title = title;
+        return this;
+    }
+
+    /**
+     * @param text words that must all appear, as the start of a word, in the title or the
+     *             description; case and accents are ignored (null or blank => no filter)
+     * @return this query
+     */
+    public TaskQuery text(String text) {
+        this.text = text;
+        return this;
+    }
+
+    /**
+     * @param category the category the tasks must belong to (null => no filter)
+     * @return this query
+     */
+    public TaskQuery category(Category category) {
+        this.categoryFiltered = category != null;
+        this.categoryId = (category != null) ? category.getId() : null;
+        return this;
+    }
+
+    /**
+     * Keeps only the tasks without a category.
+     * @return this query
+     */
+    public TaskQuery noCategory() {
+        this.categoryFiltered = true;
+        this.categoryId = null;
+        return this;
+    }
+
+    /**
+     * @param priority the priority the tasks must have (null => no filter)
+     * @return this query
+     */
+    public TaskQuery priority(Priority priority) {
+        this.priorityId = (priority != null) ? priority.getId() : null;
+        return this;
+    }
+
+    /**
+     * @param statuses the statuses accepted (none => no filter)
+     * @return this query
+     */
+    public TaskQuery statuses(TaskStatus... statuses) {
+        return statuses(statuses.length == 0 ? null : EnumSet.of(statuses[0], statuses));
+    }
+
+    /**
+     * @param statuses the statuses accepted (null or empty => no filter)
+     * @return this query
+     */
+    public TaskQuery statuses(Collection<TaskStatus> statuses) {
+        this.statuses = (statuses == null || statuses.isEmpty()) ? null : EnumSet.copyOf(statuses);
+        return this;
+    }
+
+    /**
+     * Keeps only the tasks with a deadline in the given range (both ends included).
+     * Tasks without deadline never match a range.
+     *
+     * @param from the earliest deadline (null => no lower bound)
+     * @param to   the latest deadline (null => no upper bound)
+     * @return this query
+     */
+    public TaskQuery deadlineBetween(LocalDate from, LocalDate to) {
+        this.deadlineFrom = from;
+        this.deadlineTo = to;
+        return this;
+    }
+
+    String getTitle() {
+        return title;
+    }
+
+    String getText() {
+        return text;
+    }
+
+    boolean isCategoryFiltered() {
+        return categoryFiltered;
+    }
+
+    /**
+     * @return the category id to match; null means "no category" if {@link #isCategoryFiltered()}
+     */
+    EntityId getCategoryId() {
+        return categoryId;
+    }
+
+    EntityId getPriorityId() {
+        return priorityId;
+    }
+
+    Set<TaskStatus> getStatuses() {
+        return statuses;
+    }
+
+    boolean hasDeadlineRange() {
+        return deadlineFrom != null || deadlineTo != null;
+    }
+
+    LocalDate getDeadlineFrom() {
+        return deadlineFrom;
+    }
+
+    LocalDate getDeadlineTo() {
+        return deadlineTo;
+    }
+}
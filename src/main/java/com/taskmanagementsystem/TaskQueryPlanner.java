@@ -0,0 +1,375 @@
+package com.taskmanagementsystem;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Turns a {@link TaskQuery} into a {@link Plan}.
+ *
+ * The candidates come from one access path, the one expected to examine the fewest tasks:
+ * <ul>
+ *   <li>BITMAP - the intersection of the facet bitmaps (category, priority, statuses),
+ *       estimated by the smallest of them;</li>
+ *   <li>DEADLINE_RANGE - the tasks of the deadline index within the range;</li>
+ *   <li>TEXT_INDEX - the tasks of the {@link TaskSearchIndex} holding every word of the
+ *       text criterion, estimated by the postings of its rarest word;</li>
+ *   <li>FULL_SCAN - every task, when no criterion is indexed.</li>
+ * </ul>
+ * Every criterion not covered by the access path is verified on the candidates only.
+ * The title (a substring match) is never indexed and is always verified last.
+ * The text criterion, when not the access path, is verified by scanning the candidate's
+ * title and description for words starting with each term (see {@link TaskSearchIndex#matches}).
+ */
+class TaskQueryPlanner {
+    // An interrupted search notices it within this many examined tasks (minus one)
+    private static final int CANCEL_CHECK_MASK = 4096 - 1;
+
+    enum AccessPath {
+        BITMAP,
+        DEADLINE_RANGE,
+        TEXT_INDEX,
+        FULL_SCAN
+    }
+
+    private final List<Task> tasks;
+    private final TaskFacetIndex facets;
+    private final NavigableMap<LocalDate, Set<Task>> tasksByDeadline;
+    private final NavigableMap<EntityId, Task> tasksInIdOrder;
+    private final TaskSearchIndex searchIndex;
+
+    TaskQueryPlanner(List<Task> tasks, TaskFacetIndex facets,
+                     NavigableMap<LocalDate, Set<Task>> tasksByDeadline, NavigableMap<EntityId, Task> tasksInIdOrder,
+                     TaskSearchIndex searchIndex) {
+        this.tasks = tasks;
+        this.facets = facets;
+        this.tasksByDeadline = tasksByDeadline;
+        this.tasksInIdOrder = tasksInIdOrder;
+        this.searchIndex = searchIndex;
+    }
+
+    Plan plan(TaskQuery query) {
+        // The facet bitmaps of the query; statuses are the union of their bitmaps
+        List<BitSet> bitmaps = new ArrayList<>();
+        List<String> bitmapNames = new ArrayList<>();
+        if (query.isCategoryFiltered()) {
+            bitmaps.add(facets.categoryBits(query.getCategoryId()));
+            bitmapNames.add(query.getCategoryId() == null ? "no category" : "category");
+        }
+        if (query.getPriorityId() != null) {
+            bitmaps.add(facets.priorityBits(query.getPriorityId()));
+            bitmapNames.add("priority");
+        }
+        // Category and priority bitmaps are live; the status union below is a snapshot
+        int liveBitmaps = bitmaps.size();
+        if (query.getStatuses() != null) {
+            BitSet union = new BitSet();
+            for (TaskStatus status : query.getStatuses()) {
+                union.or(facets.statusBits(status));
+            }
+            bitmaps.add(union);
+            bitmapNames.add("status in " + query.getStatuses());
+        }
+
+        long bitmapEstimate = Long.MAX_VALUE;
+        for (BitSet bits : bitmaps) {
+            bitmapEstimate = Math.min(bitmapEstimate, bits.cardinality());
+        }
+        NavigableMap<LocalDate, Set<Task>> deadlineRange = null;
+        long deadlineEstimate = Long.MAX_VALUE;
+        if (query.hasDeadlineRange()) {
+            deadlineRange = deadlineRange(query.getDeadlineFrom(), query.getDeadlineTo());
+            deadlineEstimate = 0;
+            for (Set<Task> sameDay : deadlineRange.values()) {
+                deadlineEstimate += sameDay.size();
+            }
+        }
+
+        List<String> textTerms = TaskSearchIndex.tokenize(query.getText());
+        long textEstimate = textTerms.isEmpty() ? Long.MAX_VALUE : searchIndex.estimate(textTerms);
+
+        AccessPath path;
+        long estimate;
+        if (bitmapEstimate == Long.MAX_VALUE && deadlineEstimate == Long.MAX_VALUE
+                && textEstimate == Long.MAX_VALUE) {
+            path = AccessPath.FULL_SCAN;
+            estimate = tasks.size();
+        } else if (bitmapEstimate <= deadlineEstimate && bitmapEstimate <= textEstimate) {
+            path = AccessPath.BITMAP;
+            estimate = bitmapEstimate;
+        } else if (deadlineEstimate <= textEstimate) {
+            path = AccessPath.DEADLINE_RANGE;
+            estimate = deadlineEstimate;
+        } else {
+            path = AccessPath.TEXT_INDEX;
+            estimate = textEstimate;
+        }
+        return new Plan(query, path, estimate, bitmaps, bitmapNames, bitmapEstimate,
+                bitmaps.subList(0, liveBitmaps), deadlineRange, deadlineEstimate, textTerms, textEstimate);
+    }
+
+    private NavigableMap<LocalDate, Set<Task>> deadlineRange(LocalDate from, LocalDate to) {
+        if (from != null && to != null) {
+            if (from.isAfter(to)) return new TreeMap<>();
+            return tasksByDeadline.subMap(from, true, to, true);
+        }
+        return (from != null) ? tasksByDeadline.tailMap(from, true) : tasksByDeadline.headMap(to, true);
+    }
+
+    /**
+     * The chosen way to run a query: an access path and the predicates verified on its candidates.
+     */
+    class Plan {
+        private final TaskQuery query;
+        private final AccessPath path;
+        private final long estimate;
+        private final List<BitSet> bitmaps;
+        private final List<String> bitmapNames;
+        private final long bitmapEstimate;
+        private final List<BitSet> liveBitmaps;
+        private final NavigableMap<LocalDate, Set<Task>> deadlineRange;
+        private final long deadlineEstimate;
+        private final List<String> textTerms;
+        private final long textEstimate;
+        private final TitleMatcher titleMatcher;
+        private int examined;
+
+        private Plan(TaskQuery query, AccessPath path, long estimate,
+                     List<BitSet> bitmaps, List<String> bitmapNames, long bitmapEstimate,
+                     List<BitSet> liveBitmaps, NavigableMap<LocalDate, Set<Task>> deadlineRange, long deadlineEstimate,
+                     List<String> textTerms, long textEstimate) {
+            this.query = query;
+            this.path = path;
+            this.estimate = estimate;
+            this.bitmaps = bitmaps;
+            this.bitmapNames = bitmapNames;
+            this.bitmapEstimate = bitmapEstimate;
+            this.liveBitmaps = liveBitmaps;
+            this.deadlineRange = deadlineRange;
+            this.deadlineEstimate = deadlineEstimate;
+            this.textTerms = textTerms;
+            this.textEstimate = textEstimate;
+            this.titleMatcher = TitleMatcher.compile(query.getTitle());
+        }
+
+        AccessPath getAccessPath() {
+            return path;
+        }
+
+        /**
+         * Runs the plan.
+         * @return the matching tasks, in the order of the access path
+         *         (most relevant first for TEXT_INDEX)
+         */
+        List<Task> execute() {
+            List<Task> result = new ArrayList<>();
+            forEachMatch(result::add);
+            return result;
+        }
+
+        /**
+         * Runs the plan and returns one page of the results, in ascending id order.
+         *
+         * When the index of the plan yields few candidates, they are all checked and the page
+         * is taken from them. Otherwise the tasks are walked in id order from the cursor on,
+         * checking the query on each, and the walk stops as soon as the page is full, so the
+         * tasks after the page are never examined.
+         *
+         * @param pageSize the maximum number of tasks in the page
+         * @param afterId  the id of the last task of the previous page, or null for the first page
+         */
+        TaskPage page(int pageSize, EntityId afterId) {
+            NavigableMap<EntityId, Task> remaining = (afterId == null)
+                    ? tasksInIdOrder
+                    : tasksInIdOrder.tailMap(afterId, false);
+            // Expected number of tasks to walk in id order before the page is full,
+            // if the matches are spread evenly among the tasks
+            long walkCost = (estimate == 0) ? 0 : (long) pageSize * tasks.size() / estimate;
+
+            List<Task> page = new ArrayList<>(pageSize);
+            boolean more;
+            if (path != AccessPath.FULL_SCAN && estimate <= walkCost) {
+                // Keep the pageSize smallest ids after the cursor; largest id on top
+                PriorityQueue<Task> smallest = new PriorityQueue<>(pageSize + 1,
+                        Comparator.comparing(Task::getId).reversed());
+                int[] matches = {0};
+                forEachMatch(task -> {
+                    if (afterId != null && task.getId().compareTo(afterId) <= 0) return;
+                    matches[0]++;
+                    smallest.add(task);
+                    if (smallest.size() > pageSize) smallest.poll();
+                });
+                page.addAll(smallest);
+                page.sort(Comparator.comparing(Task::getId));
+                more = matches[0] > pageSize;
+            } else {
+                Predicate<Task> predicate = predicate();
+                Iterator<Task> it = remaining.values().iterator();
+                while (page.size() < pageSize && it.hasNext()) {
+                    Task task = it.next();
+                    if (predicate.test(task)) page.add(task);
+                }
+                // Without looking further we only know that the page is full
+                more = page.size() == pageSize && it.hasNext();
+            }
+            String nextCursor = (more && !page.isEmpty()) ? TaskPage.encodeCursor(page.get(page.size() - 1).getId()) : null;
+            return new TaskPage(page, nextCursor);
+        }
+
+        private void forEachMatch(Consumer<Task> result) {
+            switch (path) {
+                case BITMAP -> {
+                    BitSet candidates = null;
+                    for (BitSet bits : bitmaps) {
+                        if (candidates == null) {
+                            candidates = (BitSet) bits.clone();
+                        } else {
+                            candidates.and(bits);
+                        }
+                    }
+                    for (Task task : facets.tasksOf(candidates)) {
+                        examined();
+                        if (matchesDeadline(task) && matchesText(task) && titleMatcher.matches(task)) {
+                            result.accept(task);
+                        }
+                    }
+                }
+                case DEADLINE_RANGE -> {
+                    for (Set<Task> sameDay : deadlineRange.values()) {
+                        for (Task task : sameDay) {
+                            examined();
+                            if (matchesFacets(task) && matchesText(task) && titleMatcher.matches(task)) {
+                                result.accept(task);
+                            }
+                        }
+                    }
+                }
+                case TEXT_INDEX -> {
+                    for (Task task : searchIndex.search(textTerms)) {
+                        examined();
+                        if (matchesFacets(task) && matchesDeadline(task) && titleMatcher.matches(task)) {
+                            result.accept(task);
+                        }
+                    }
+                }
+                case FULL_SCAN -> {
+                    for (Task task : tasks) {
+                        examined();
+                        if (titleMatcher.matches(task)) result.accept(task);
+                    }
+                }
+            }
+        }
+
+        /**
+         * Counts an examined task; every few thousand tasks, stops the search if its thread
+         * was interrupted (a search-as-you-type query superseded by the next keystroke).
+         */
+        private void examined() {
+            if ((++examined & CANCEL_CHECK_MASK) == 0 && Thread.currentThread().isInterrupted()) {
+                throw new CancellationException("Search cancelled");
+            }
+        }
+
+        /**
+         * @return a predicate that checks every criterion of the query on a single task,
+         *         with bit tests for the facets; it follows later changes of the tasks
+         */
+        Predicate<Task> predicate() {
+            return task -> matchesFacets(task) && matchesDeadline(task) && matchesText(task)
+                    && titleMatcher.matches(task);
+        }
+
+        /**
+         * @return a readable description of the plan: the access path with its estimated
+         *         cost (tasks examined), the rejected alternatives and the verified predicates
+         */
+        String explain() {
+            StringBuilder sb = new StringBuilder();
+            sb.append("access: ").append(describe(path)).append(" (cost ~").append(estimate).append(" tasks)\n");
+            for (AccessPath other : AccessPath.values()) {
+                if (other == path || !isAvailable(other)) continue;
+                sb.append("rejected: ").append(describe(other))
+                        .append(" (cost ~").append(costOf(other)).append(" tasks)\n");
+            }
+            List<String> verified = new ArrayList<>();
+            if (path != AccessPath.BITMAP) {
+                for (int i = 0; i < bitmapNames.size(); i++) {
+                    verified.add(i < liveBitmaps.size() ? bitmapNames.get(i) + " (bit test)" : bitmapNames.get(i));
+                }
+            }
+            if (path != AccessPath.DEADLINE_RANGE && query.hasDeadlineRange()) {
+                verified.add(describeRange());
+            }
+            if (path != AccessPath.TEXT_INDEX && !textTerms.isEmpty()) {
+                verified.add("text has words " + textTerms);
+            }
+            if (!titleMatcher.matchesAll()) {
+                verified.add("title contains \"" + query.getTitle() + "\"");
+            }
+            sb.append("verify: ").append(verified.isEmpty() ? "-" : String.join(", ", verified));
+            return sb.toString();
+        }
+
+        private boolean isAvailable(AccessPath p) {
+            return switch (p) {
+                case BITMAP -> !bitmaps.isEmpty();
+                case DEADLINE_RANGE -> deadlineRange != null;
+                case TEXT_INDEX -> !textTerms.isEmpty();
+                case FULL_SCAN -> true;
+            };
+        }
+
+        private long costOf(AccessPath p) {
+            return switch (p) {
+                case BITMAP -> bitmapEstimate;
+                case DEADLINE_RANGE -> deadlineEstimate;
+                case TEXT_INDEX -> textEstimate;
+                case FULL_SCAN -> tasks.size();
+            };
+        }
+
+        private String describe(AccessPath p) {
+            return switch (p) {
+                case BITMAP -> "BITMAP(" + String.join(" AND ", bitmapNames) + ")";
+                case DEADLINE_RANGE -> "DEADLINE_RANGE(" + describeRange() + ")";
+                case TEXT_INDEX -> "TEXT_INDEX(words " + textTerms + ")";
+                case FULL_SCAN -> "FULL_SCAN";
+            };
+        }
+
+        private String describeRange() {
+            return "deadline in [" + (query.getDeadlineFrom() != null ? query.getDeadlineFrom() : "..")
+                    + ", " + (query.getDeadlineTo() != null ? query.getDeadlineTo() : "..") + "]";
+        }
+
+        private boolean matchesFacets(Task task) {
+            for (BitSet bits : liveBitmaps) {
+                if (!TaskFacetIndex.contains(bits, task)) return false;
+            }
+            return query.getStatuses() == null || query.getStatuses().contains(task.getStatus());
+        }
+
+        private boolean matchesText(Task task) {
+            return textTerms.isEmpty() || TaskSearchIndex.matches(task, textTerms);
+        }
+
+        private boolean matchesDeadline(Task task) {
+            if (!query.hasDeadlineRange()) return true;
+            LocalDate deadline = task.getDeadline();
+            if (deadline == null) return false;
+            if (query.getDeadlineFrom() != null && deadline.isBefore(query.getDeadlineFrom())) return false;
+            return query.getDeadlineTo() == null || !deadline.isAfter(query.getDeadlineTo());
+        }
+    }
+}
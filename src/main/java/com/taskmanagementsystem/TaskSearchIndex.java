@@ -0,0 +1,289 @@
+package com.taskmanagementsystem;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Inverted index over the words of task titles and descriptions.
+ *
+ * Words are normalized (lower case, accents removed, final sigma folded), so
+ * "Εργασία", "ΕΡΓΑΣΙΑ" and "εργασια" are the same word. Every query word is matched as
+ * a prefix of the indexed words, all query words must match (AND), and results are
+ * ordered by relevance: title matches weigh more than description matches, and whole
+ * word matches more than prefix matches.
+ */
+class TaskSearchIndex {
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    private static final int EXACT_WORD_FACTOR = 2;
+
+    // The characters as tokenize() leaves them, filled in as they are met (0 = not yet);
+    // every thread computes the same value, so unsynchronized writes are harmless
+    private static final char[] NORMALIZED = new char[Character.MAX_VALUE + 1];
+    private static final char SEPARATOR = ' ';
+    private static final char MARK = '\u0001';
+    private static final char COMPLEX = '\u0002';
+
+    // word -> (task -> weight of the word in that task)
+    private final NavigableMap<String, Map<Task, Integer>> postings = new TreeMap<>();
+
+    void add(Task task) {
+        index(task, task.getTitle(), TITLE_WEIGHT);
+        index(task, task.getDescription(), DESCRIPTION_WEIGHT);
+    }
+
+    void remove(Task task) {
+        unindex(task, task.getTitle(), TITLE_WEIGHT);
+        unindex(task, task.getDescription(), DESCRIPTION_WEIGHT);
+    }
+
+    void titleChanged(Task task, String oldTitle, String newTitle) {
+        unindex(task, oldTitle, TITLE_WEIGHT);
+        index(task, newTitle, TITLE_WEIGHT);
+    }
+
+    void descriptionChanged(Task task, String oldDescription, String newDescription) {
+        unindex(task, oldDescription, DESCRIPTION_WEIGHT);
+        index(task, newDescription, DESCRIPTION_WEIGHT);
+    }
+
+    /**
+     * Finds the tasks that contain every word of the query (as a word prefix),
+     * most relevant first.
+     *
+     * @param query one or more words
+     * @return the matching tasks, ordered by descending relevance; empty for a blank query
+     */
+    List<Task> search(String query) {
+        return search(tokenize(query));
+    }
+
+    /**
+     * Like {@link #search(String)}, for a query already split by {@link #tokenize(String)}.
+     */
+    List<Task> search(List<String> queryTerms) {
+        if (queryTerms.isEmpty()) return new ArrayList<>();
+
+        // Each estimate walks the postings of the term's prefix range, so it is computed once
+        Map<String, Long> estimates = new HashMap<>();
+        for (String term : queryTerms) {
+            estimates.computeIfAbsent(term, this::estimateMatches);
+        }
+        // Start from the rarest term, so the candidate set is as small as possible from the start
+        List<String> terms = new ArrayList<>(estimates.keySet());
+        terms.sort(Comparator.comparingLong(estimates::get));
+
+        Map<Task, Integer> scores = null;
+        for (String term : terms) {
+            NavigableMap<String, Map<Task, Integer>> words = prefixRange(term);
+            Map<Task, Integer> next = new HashMap<>();
+            if (scores != null && (long) scores.size() * words.size() < estimates.get(term)) {
+                // Few candidates left: probe each of them instead of walking the postings
+                for (Task task : scores.keySet()) {
+                    for (Map.Entry<String, Map<Task, Integer>> word : words.entrySet()) {
+                        Integer weight = word.getValue().get(task);
+                        if (weight == null) continue;
+                        int factor = word.getKey().equals(term) ? EXACT_WORD_FACTOR : 1;
+                        next.merge(task, weight * factor, Integer::sum);
+                    }
+                }
+            } else {
+                for (Map.Entry<String, Map<Task, Integer>> word : words.entrySet()) {
+                    int factor = word.getKey().equals(term) ? EXACT_WORD_FACTOR : 1;
+                    for (Map.Entry<Task, Integer> posting : word.getValue().entrySet()) {
+                        Task task = posting.getKey();
+                        if (scores != null && !scores.containsKey(task)) continue;
+                        next.merge(task, posting.getValue() * factor, Integer::sum);
+                    }
+                }
+            }
+            if (scores != null) {
+                for (Map.Entry<Task, Integer> e : next.entrySet()) {
+                    e.setValue(e.getValue() + scores.get(e.getKey()));
+                }
+            }
+            scores = next;
+            if (scores.isEmpty()) break;
+        }
+
+        List<Map.Entry<Task, Integer>> ranked = new ArrayList<>(scores.entrySet());
+        ranked.sort(Map.Entry.<Task, Integer>comparingByValue().reversed());
+        List<Task> result = new ArrayList<>(ranked.size());
+        for (Map.Entry<Task, Integer> e : ranked) {
+            result.add(e.getKey());
+        }
+        return result;
+    }
+
+    /**
+     * Estimates the number of tasks matching a query: the postings of its rarest word,
+     * which bound the result from above.
+     *
+     * @param terms the words of the query, from {@link #tokenize(String)}; not empty
+     */
+    long estimate(List<String> terms) {
+        long estimate = Long.MAX_VALUE;
+        for (String term : terms) {
+            estimate = Math.min(estimate, estimateMatches(term));
+        }
+        return estimate;
+    }
+
+    /**
+     * Checks a single task the way {@link #search(List)} would, without the index: every
+     * word of the query must be the start of a word of the title or the description.
+     *
+     * The title and description are scanned in place, a character at a time, with the
+     * characters normalized as {@link #tokenize(String)} would; nothing is allocated unless a
+     * character normalizes to more than one (e.g. a Hangul syllable), when the text is
+     * tokenized after all.
+     *
+     * @param terms the words of the query, from {@link #tokenize(String)}
+     */
+    static boolean matches(Task task, List<String> terms) {
+        for (String term : terms) {
+            if (!hasWordStartingWith(task.getTitle(), term)
+                    && !hasWordStartingWith(task.getDescription(), term)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Splits a text into normalized words: letters and digits only, lower case,
+     * without accents, with the Greek final sigma folded to a normal sigma.
+     */
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null || text.isEmpty()) return words;
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFD)
+                .toLowerCase(Locale.ROOT)
+                .replace('ς', 'σ');
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < normalized.length(); i++) {
+            char c = normalized.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) continue;
+            if (Character.isLetterOrDigit(c)) {
+                word.append(c);
+            } else if (word.length() > 0) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        if (word.length() > 0) {
+            words.add(word.toString());
+        }
+        return words;
+    }
+
+    /**
+     * @return true if a word of the text, as {@link #tokenize(String)} splits it, starts with the term
+     */
+    private static boolean hasWordStartingWith(String text, String term) {
+        if (text == null) return false;
+        boolean inWord = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = normalized(text.charAt(i));
+            if (c == MARK) continue;
+            if (c == COMPLEX) return hasWordStartingWithTokenized(text, term);
+            if (c == SEPARATOR) {
+                inWord = false;
+            } else if (!inWord) {
+                inWord = true;
+                if (startsWithAt(text, i, term)) return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsWithAt(String text, int start, String term) {
+        int matched = 0;
+        for (int i = start; i < text.length() && matched < term.length(); i++) {
+            char c = normalized(text.charAt(i));
+            if (c == MARK) continue;
+            // A separator or a character of several ends the comparison (see hasWordStartingWith)
+            if (c != term.charAt(matched)) return false;
+            matched++;
+        }
+        return matched == term.length();
+    }
+
+    private static boolean hasWordStartingWithTokenized(String text, String term) {
+        for (String word : tokenize(text)) {
+            if (word.startsWith(term)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return the character as {@link #tokenize(String)} leaves it, {@link #SEPARATOR} if it
+     *         splits words, {@link #MARK} if it is dropped, {@link #COMPLEX} if it becomes
+     *         more than one character
+     */
+    private static char normalized(char c) {
+        char n = NORMALIZED[c];
+        if (n == 0) {
+            n = normalize(c);
+            NORMALIZED[c] = n;
+        }
+        return n;
+    }
+
+    private static char normalize(char c) {
+        if (Character.isSurrogate(c)) return COMPLEX;
+        String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD)
+                .toLowerCase(Locale.ROOT)
+                .replace('ς', 'σ');
+        char kept = 0;
+        int count = 0;
+        for (int i = 0; i < decomposed.length(); i++) {
+            char d = decomposed.charAt(i);
+            if (Character.getType(d) == Character.NON_SPACING_MARK) continue;
+            kept = d;
+            count++;
+        }
+        if (count == 0) return MARK;
+        if (count > 1) return COMPLEX;
+        return Character.isLetterOrDigit(kept) ? kept : SEPARATOR;
+    }
+
+    private long estimateMatches(String term) {
+        long count = 0;
+        for (Map<Task, Integer> tasks : prefixRange(term).values()) {
+            count += tasks.size();
+        }
+        return count;
+    }
+
+    private NavigableMap<String, Map<Task, Integer>> prefixRange(String prefix) {
+        return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    private void index(Task task, String text, int weight) {
+        for (String word : tokenize(text)) {
+            postings.computeIfAbsent(word, w -> new HashMap<>()).merge(task, weight, Integer::sum);
+        }
+    }
+
+    private void unindex(Task task, String text, int weight) {
+        for (String word : tokenize(text)) {
+            Map<Task, Integer> tasks = postings.get(word);
+            if (tasks == null) continue;
+            Integer remaining = tasks.merge(task, -weight, Integer::sum);
+            if (remaining != null && remaining <= 0) {
+                tasks.remove(task);
+                if (tasks.isEmpty()) {
+                    postings.remove(word);
+                }
+            }
+        }
+    }
+}
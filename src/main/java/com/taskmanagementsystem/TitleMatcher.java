@@ -0,0 +1,50 @@
+package com.taskmanagementsystem;
+
+import java.util.Locale;
+
+/**
+ * Case-insensitive "title contains" matcher, compiled once per search.
+ *
+ * Every task keeps a case-folded copy of its title, updated when the title is set
+ * (see {@link Task#foldedTitle()}), and the query is folded once here, so matching a
+ * task is a plain {@code String.contains} that allocates nothing.
+ */
+final class TitleMatcher {
+    private static final TitleMatcher MATCH_ALL = new TitleMatcher("");
+
+    private final String foldedQuery;
+
+    private TitleMatcher(String foldedQuery) {
+        this.foldedQuery = foldedQuery;
+    }
+
+    /**
+     * @param query the text to look for; null or empty matches every task
+     */
+    static TitleMatcher compile(String query) {
+        if (query == null || query.isEmpty()) return MATCH_ALL;
+        return new TitleMatcher(fold(query));
+    }
+
+    /**
+     * @return true if the query is empty or the task's title contains it (ignoring case)
+     */
+    boolean matches(Task task) {
+        if (foldedQuery.isEmpty()) return true;
+        String title = task.foldedTitle();
+        return title != null && title.contains(foldedQuery);
+    }
+
+    boolean matchesAll() {
+        return foldedQuery.isEmpty();
+    }
+
+    /**
+     * Case-folds a text: upper then lower case (so that e.g. "ß" and "SS" fold alike),
+     * with the Greek final sigma folded to a normal sigma.
+     */
+    static String fold(String text) {
+        if (text == null) return null;
+        return text.toUpperCase(Locale.ROOT).toLowerCase(Locale.ROOT).replace('ς', 'σ');
+    }
+}
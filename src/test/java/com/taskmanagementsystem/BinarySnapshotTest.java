@@ -0,0 +1,189 @@
+package com.taskmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BinarySnapshotTest {
+    @TempDir
+    File folder;
+
+    @Test
+    void readsBackWhatWasWritten() throws IOException {
+        Category work = new Category("Work");
+        Category home = new Category("Σπίτι");
+        Priority high = new Priority("High");
+        Priority unnamed = new Priority(EntityId.generate(), null);
+
+        Task full = new Task("Report", "Quarterly report", work.getId(), high.getId(), LocalDate.of(2026, 3, 31));
+        full.setStatus(TaskStatus.IN_PROGRESS);
+        Task empty = new Task(EntityId.generate());
+        // Refers to a category that is not in the snapshot
+        Task orphan = new Task("Report", "Quarterly report", EntityId.generate(), unnamed.getId(), null);
+        orphan.setStatus(TaskStatus.DELAYED);
+
+        Reminder reminder = new Reminder(full.getId(), ReminderType.SPECIFIC_DATE, LocalDate.of(2026, 3, 1));
+        reminder.setNotified(true);
+        Reminder untyped = new Reminder(EntityId.generate());
+        untyped.setTaskId(orphan.getId());
+
+        Category[] categories = {work, home};
+        Priority[] priorities = {high, unnamed};
+        Task[] tasks = {full, empty, orphan};
+        Reminder[] reminders = {reminder, untyped};
+
+        File file = new File(folder, "snapshot.bin");
+        BinarySnapshot.write(file, categories, priorities, tasks, reminders);
+        BinarySnapshot.verify(file);
+        Snapshot read = read(file);
+
+        assertEquals(categories.length, read.categories.size());
+        for (int i = 0; i < categories.length; i++) {
+            assertEquals(categories[i].getId(), read.categories.get(i).getId());
+            assertEquals(categories[i].getName(), read.categories.get(i).getName());
+        }
+        assertEquals(priorities.length, read.priorities.size());
+        for (int i = 0; i < priorities.length; i++) {
+            assertEquals(priorities[i].getId(), read.priorities.get(i).getId());
+            assertEquals(priorities[i].getName(), read.priorities.get(i).getName());
+        }
+        assertEquals(tasks.length, read.tasks.size());
+        for (int i = 0; i < tasks.length; i++) {
+            assertTaskEquals(tasks[i], read.tasks.get(i));
+        }
+        assertEquals(reminders.length, read.reminders.size());
+        for (int i = 0; i < reminders.length; i++) {
+            Reminder expected = reminders[i];
+            Reminder actual = read.reminders.get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getTaskId(), actual.getTaskId());
+            assertEquals(expected.getType(), actual.getType());
+            assertEquals(expected.getReminderDate(), actual.getReminderDate());
+            assertEquals(expected.isNotified(), actual.isNotified());
+        }
+
+        // Foreign keys share the instance of the record they refer to
+        assertSame(read.categories.get(0).getId(), read.tasks.get(0).getCategoryId());
+        assertSame(read.priorities.get(0).getId(), read.tasks.get(0).getPriorityId());
+    }
+
+    @Test
+    void readsBackAnEmptySnapshot() throws IOException {
+        File file = new File(folder, "snapshot.bin");
+        BinarySnapshot.write(file, new Object[0], new Object[0], new Object[0], new Object[0]);
+        Snapshot read = read(file);
+
+        assertTrue(read.categories.isEmpty());
+        assertTrue(read.priorities.isEmpty());
+        assertTrue(read.tasks.isEmpty());
+        assertTrue(read.reminders.isEmpty());
+    }
+
+    @Test
+    void rejectsACorruptedFile() throws IOException {
+        File file = new File(folder, "snapshot.bin");
+        writeSample(file);
+
+        // Change one character of a title: the records still parse, the checksum does not match
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        int offset = indexOf(bytes, "Corruptible".getBytes(StandardCharsets.UTF_8));
+        assertTrue(offset > 0);
+        bytes[offset] ^= 0x20;
+        Files.write(file.toPath(), bytes);
+
+        IOException e = assertThrows(IOException.class, () -> read(file));
+        assertTrue(e.getMessage().contains("checksum mismatch"), e.getMessage());
+        e = assertThrows(IOException.class, () -> BinarySnapshot.verify(file));
+        assertTrue(e.getMessage().contains("checksum mismatch"), e.getMessage());
+    }
+
+    @Test
+    void rejectsATruncatedFile() throws IOException {
+        File file = new File(folder, "snapshot.bin");
+        writeSample(file);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() / 2);
+        }
+
+        assertThrows(IOException.class, () -> read(file));
+        assertThrows(IOException.class, () -> BinarySnapshot.verify(file));
+    }
+
+    @Test
+    void rejectsAFileThatIsNotASnapshot() throws IOException {
+        File file = new File(folder, "tasks.json");
+        Files.writeString(file.toPath(), "[]");
+
+        assertThrows(IOException.class, () -> read(file));
+    }
+
+    static void assertTaskEquals(Task expected, Task actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getCategoryId(), actual.getCategoryId());
+        assertEquals(expected.getPriorityId(), actual.getPriorityId());
+        assertEquals(expected.getDeadline(), actual.getDeadline());
+        assertEquals(expected.getStatus(), actual.getStatus());
+    }
+
+    static void writeSample(File file) throws IOException {
+        Category category = new Category("Work");
+        Priority priority = new Priority("High");
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            tasks.add(new Task("Task " + i, "Description " + i, category.getId(), priority.getId(),
+                    LocalDate.of(2026, 1, 1).plusDays(i)));
+        }
+        tasks.add(new Task("Corruptible", null, null, null, null));
+        BinarySnapshot.write(file, new Object[]{category}, new Object[]{priority}, tasks.toArray(), new Object[0]);
+    }
+
+    static int indexOf(byte[] bytes, byte[] part) {
+        outer:
+        for (int i = 0; i <= bytes.length - part.length; i++) {
+            for (int j = 0; j < part.length; j++) {
+                if (bytes[i + j] != part[j]) continue outer;
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static Snapshot read(File file) throws IOException {
+        Snapshot snapshot = new Snapshot();
+        try (BinarySnapshot.Reader reader = new BinarySnapshot.Reader(file, new EntityIdPool())) {
+            for (int i = reader.count(BinarySnapshot.Reader.Section.CATEGORIES); i > 0; i--) {
+                snapshot.categories.add(reader.readCategory());
+            }
+            for (int i = reader.count(BinarySnapshot.Reader.Section.PRIORITIES); i > 0; i--) {
+                snapshot.priorities.add(reader.readPriority());
+            }
+            for (int i = reader.count(BinarySnapshot.Reader.Section.TASKS); i > 0; i--) {
+                snapshot.tasks.add(reader.readTask());
+            }
+            for (int i = reader.count(BinarySnapshot.Reader.Section.REMINDERS); i > 0; i--) {
+                snapshot.reminders.add(reader.readReminder());
+            }
+            reader.finish();
+        }
+        return snapshot;
+    }
+
+    private static final class Snapshot {
+        final List<Category> categories = new ArrayList<>();
+        final List<Priority> priorities = new ArrayList<>();
+        final List<Task> tasks = new ArrayList<>();
+        final List<Reminder> reminders = new ArrayList<>();
+    }
+}
@@ -0,0 +1,86 @@
+package com.taskmanagementsystem;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataLoaderTest {
+    // More tasks than fit in one chunk, so an unchecked file would be delivered in part
+    private static final int TASKS = 12_000;
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TempDir
+    File folder;
+
+    @Test
+    void loadsEveryRecordOfASnapshot() throws IOException {
+        File file = writeSnapshot();
+        List<Object> delivered = new ArrayList<>();
+
+        load(file, delivered);
+
+        assertEquals(1 + 1 + TASKS, delivered.size());
+    }
+
+    @Test
+    void damagedSnapshotDeliversNothing() throws IOException {
+        File file = writeSnapshot();
+        // A title near the end: every record still parses, only the checksum tells
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        int offset = BinarySnapshotTest.indexOf(bytes, ("Task " + (TASKS - 1)).getBytes(StandardCharsets.UTF_8));
+        assertTrue(offset > bytes.length / 2);
+        bytes[offset] ^= 0x20;
+        Files.write(file.toPath(), bytes);
+        List<Object> delivered = new ArrayList<>();
+
+        assertThrows(IOException.class, () -> load(file, delivered));
+        assertTrue(delivered.isEmpty());
+    }
+
+    @Test
+    void truncatedSnapshotDeliversNothing() throws IOException {
+        File file = writeSnapshot();
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 100);
+        }
+        List<Object> delivered = new ArrayList<>();
+
+        assertThrows(IOException.class, () -> load(file, delivered));
+        assertTrue(delivered.isEmpty());
+    }
+
+    private File writeSnapshot() throws IOException {
+        Category category = new Category("Work");
+        Priority priority = new Priority("High");
+        Object[] tasks = new Object[TASKS];
+        for (int i = 0; i < TASKS; i++) {
+            tasks[i] = new Task("Task " + i, "Description " + i, category.getId(), priority.getId(), null);
+        }
+        File file = new File(folder, "snapshot.bin");
+        BinarySnapshot.write(file, new Object[]{category}, new Object[]{priority}, tasks, new Object[0]);
+        return file;
+    }
+
+    private void load(File snapshot, List<Object> delivered) throws IOException {
+        DataLoader loader = new DataLoader(mapper);
+        loader.addSnapshot(snapshot,
+                loader.target(Category.class, Category::getId, new HashMap<>(), delivered::addAll),
+                loader.target(Priority.class, Priority::getId, new HashMap<>(), delivered::addAll),
+                loader.target(Task.class, Task::getId, new HashMap<>(), delivered::addAll),
+                loader.target(Reminder.class, Reminder::getId, new HashMap<>(), delivered::addAll));
+        loader.load(progress -> { });
+    }
+}
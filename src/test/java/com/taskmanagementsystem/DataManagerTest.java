@@ -0,0 +1,132 @@
+package com.taskmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javafx.collections.ListChangeListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataManagerTest {
+    @TempDir
+    File folder;
+
+    @Test
+    void failedLoadLeavesTheFilesAsTheyAre() throws IOException {
+        DataManager first = new DataManager(folder);
+        first.loadAllData();
+        Category work = first.createCategory("Work");
+        first.createTask("Kept", "", work, null, null);
+        first.checkpoint();
+        first.saveAllData();
+
+        File snapshot = new File(folder, "snapshot.bin");
+        byte[] intact = Files.readAllBytes(snapshot.toPath());
+        byte[] damaged = intact.clone();
+        damaged[damaged.length / 2] ^= 0x20;
+        Files.write(snapshot.toPath(), damaged);
+
+        DataManager second = new DataManager(folder);
+        assertThrows(IOException.class, second::loadAllData);
+        assertTrue(second.getAllTasks().isEmpty());
+        second.createTask("Made after the failed load", "", null, null, null);
+        second.checkpoint();
+        second.saveAllData();
+        assertArrayEquals(damaged, Files.readAllBytes(snapshot.toPath()));
+
+        // Once the snapshot is repaired, nothing has been lost
+        Files.write(snapshot.toPath(), intact);
+        DataManager third = new DataManager(folder);
+        third.loadAllData();
+        List<String> titles = third.getAllTasks().stream().map(Task::getTitle).toList();
+        assertEquals(List.of("Kept", "Made after the failed load"), titles);
+    }
+
+    @Test
+    void defaultPriorityIsWrittenByTheLoad() throws IOException {
+        DataManager manager = new DataManager(folder);
+        manager.loadAllData();
+
+        // On the disk without saveAllData, as after any other operation
+        List<String> lines = Files.readAllLines(new File(folder, "journal.log").toPath());
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains("\"type\":\"PRIORITY\""));
+        assertTrue(lines.get(0).contains("\"Default\""));
+    }
+
+    @Test
+    void batchFiresOneListChange() throws IOException {
+        DataManager manager = new DataManager(folder);
+        manager.loadAllData();
+        AtomicInteger taskChanges = new AtomicInteger();
+        AtomicInteger categoryChanges = new AtomicInteger();
+        manager.getObservableTasks().addListener((ListChangeListener<Task>) c -> taskChanges.incrementAndGet());
+        manager.getObservableCategories().addListener((ListChangeListener<Category>) c -> categoryChanges.incrementAndGet());
+
+        manager.batch(() -> {
+            Category work = manager.createCategory("Work");
+            for (int i = 0; i < 100; i++) {
+                Task task = manager.createTask("Task " + i, "", work, null, null);
+                if (i % 2 == 0) manager.deleteTask(task);
+            }
+            // Nested batches run as part of the outer one
+            manager.batch(() -> manager.createTask("Nested", "", work, null, null));
+        });
+
+        assertEquals(1, taskChanges.get());
+        assertEquals(1, categoryChanges.get());
+        assertEquals(51, manager.getAllTasks().size());
+    }
+
+    @Test
+    void batchIsNotATransaction() throws IOException {
+        DataManager manager = new DataManager(folder);
+        manager.loadAllData();
+        assertThrows(IllegalStateException.class, () -> manager.batch(() -> {
+            manager.createTask("Kept", "", null, null, null);
+            manager.checkpoint();
+        }));
+        assertThrows(IllegalStateException.class, () -> manager.batch(manager::saveAllData));
+        assertEquals(List.of("Kept"), manager.getAllTasks().stream().map(Task::getTitle).toList());
+
+        // What the batch applied before failing is journaled as usual
+        manager.saveAllData();
+        DataManager reloaded = new DataManager(folder);
+        reloaded.loadAllData();
+        assertEquals(List.of("Kept"), reloaded.getAllTasks().stream().map(Task::getTitle).toList());
+    }
+
+    @Test
+    void deleteTasksRemovesTheirReminders() throws IOException {
+        DataManager manager = new DataManager(folder);
+        manager.loadAllData();
+        LocalDate deadline = LocalDate.now().plusDays(10);
+        Task a = manager.createTask("A", "", null, null, deadline);
+        Task b = manager.createTask("B", "", null, null, deadline);
+        Task c = manager.createTask("C", "", null, null, deadline);
+        manager.createReminder(a, ReminderType.ONE_DAY_BEFORE, null);
+        manager.createReminder(a, ReminderType.ONE_WEEK_BEFORE, null);
+        Reminder kept = manager.createReminder(c, ReminderType.ONE_DAY_BEFORE, null);
+
+        manager.deleteTasks(List.of(a, b));
+
+        assertEquals(List.of(c), manager.getAllTasks());
+        assertEquals(List.of(kept), manager.getAllReminders());
+        assertTrue(manager.getRemindersOfTask(a).isEmpty());
+        assertNull(manager.getTaskById(a.getId()));
+
+        manager.saveAllData();
+        DataManager reloaded = new DataManager(folder);
+        reloaded.loadAllData();
+        assertEquals(List.of("C"), reloaded.getAllTasks().stream().map(Task::getTitle).toList());
+        assertEquals(Set.of(kept.getId()), Set.copyOf(reloaded.getAllReminders().stream().map(Reminder::getId).toList()));
+    }
+}
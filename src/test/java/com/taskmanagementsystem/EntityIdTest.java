@@ -0,0 +1,150 @@
+package com.taskmanagementsystem;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityIdTest {
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Test
+    void textFormRoundTrips() {
+        String text = "f639930e-8ca9-4f9b-aa7d-95eadc2ec0db";
+        EntityId id = EntityId.parse(text);
+        assertEquals(text, id.toString());
+        assertEquals(id, EntityId.parse(text));
+        assertEquals(id.hashCode(), EntityId.parse(text).hashCode());
+        assertEquals(id, EntityId.parse(text.toUpperCase()));
+
+        UUID uuid = UUID.fromString(text);
+        assertEquals(uuid.getMostSignificantBits(), id.mostSigBits());
+        assertEquals(uuid.getLeastSignificantBits(), id.leastSigBits());
+    }
+
+    @Test
+    void textThatIsNotAUuidGivesTheSameIdEveryTime() {
+        EntityId id = EntityId.parse("cat-1");
+        assertEquals(id, EntityId.parse("cat-1"));
+        assertNotEquals(id, EntityId.parse("cat-2"));
+        // Written back as a UUID, which parses to the same id
+        assertEquals(id, EntityId.parse(id.toString()));
+    }
+
+    @Test
+    void idsCompareInTheOrderOfTheirText() {
+        List<EntityId> ids = new ArrayList<>();
+        for (String text : List.of(
+                "00000000-0000-0000-0000-000000000000",
+                "00000000-0000-0000-0000-000000000001",
+                "00000000-0000-0000-8000-000000000000",
+                "00000000-0000-0001-0000-000000000000",
+                "7fffffff-ffff-ffff-ffff-ffffffffffff",
+                "80000000-0000-0000-0000-000000000000",
+                "ffffffff-ffff-ffff-ffff-ffffffffffff")) {
+            ids.add(EntityId.parse(text));
+        }
+        for (int i = 0; i < 20; i++) {
+            ids.add(EntityId.parse(UUID.randomUUID().toString()));
+        }
+        List<EntityId> byValue = new ArrayList<>(ids);
+        byValue.sort(Comparator.naturalOrder());
+        List<EntityId> byText = new ArrayList<>(ids);
+        byText.sort(Comparator.comparing(EntityId::toString));
+        assertEquals(byText, byValue);
+    }
+
+    @Test
+    void jsonHoldsTheTextForm() throws IOException {
+        EntityId id = EntityId.parse("f639930e-8ca9-4f9b-aa7d-95eadc2ec0db");
+        assertEquals("\"f639930e-8ca9-4f9b-aa7d-95eadc2ec0db\"", mapper.writeValueAsString(id));
+        assertEquals(id, mapper.readValue("\"f639930e-8ca9-4f9b-aa7d-95eadc2ec0db\"", EntityId.class));
+        assertThrows(IOException.class, () -> mapper.readValue("42", EntityId.class));
+    }
+
+    @Test
+    void generatedIdsAreVersion7AndIncreasing() {
+        long before = System.currentTimeMillis();
+        EntityId previous = EntityId.generate();
+        // More ids than one millisecond's sequence can hold
+        for (int i = 0; i < 100_000; i++) {
+            EntityId id = EntityId.generate();
+            assertTrue(id.compareTo(previous) > 0, id + " after " + previous);
+            previous = id;
+        }
+        UUID uuid = UUID.fromString(previous.toString());
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        // The first 48 bits are the creation time in milliseconds
+        long time = previous.mostSigBits() >>> 16;
+        assertTrue(time >= before && time <= System.currentTimeMillis() + 1000, Long.toString(time));
+    }
+
+    @Test
+    void generatedIdsAreUniqueAcrossThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<List<EntityId>>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                futures.add(executor.submit(() -> {
+                    List<EntityId> ids = new ArrayList<>();
+                    for (int i = 0; i < 20_000; i++) {
+                        ids.add(EntityId.generate());
+                    }
+                    return ids;
+                }));
+            }
+            Set<EntityId> all = new HashSet<>();
+            for (Future<List<EntityId>> future : futures) {
+                List<EntityId> ids = future.get();
+                for (int i = 1; i < ids.size(); i++) {
+                    assertTrue(ids.get(i).compareTo(ids.get(i - 1)) > 0);
+                }
+                all.addAll(ids);
+            }
+            assertEquals(80_000, all.size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void jsonKeepsTheStoredIds() throws IOException {
+        String id = "f639930e-8ca9-4f9b-aa7d-95eadc2ec0db";
+        Task task = mapper.readValue("{\"id\":\"" + id + "\",\"title\":\"Report\",\"deadline\":\"2026-03-01\"}",
+                Task.class);
+        assertEquals(EntityId.parse(id), task.getId());
+        assertEquals("Report", task.getTitle());
+        assertEquals(LocalDate.of(2026, 3, 1), task.getDeadline());
+
+        Category category = mapper.readValue("{\"id\":\"" + id + "\",\"name\":\"Work\"}", Category.class);
+        assertEquals(EntityId.parse(id), category.getId());
+        Priority priority = mapper.readValue("{\"id\":\"" + id + "\",\"name\":\"High\"}", Priority.class);
+        assertEquals(EntityId.parse(id), priority.getId());
+
+        Task written = mapper.readValue(mapper.writeValueAsString(task), Task.class);
+        assertEquals(task.getId(), written.getId());
+    }
+
+    @Test
+    void jsonWithoutAnIdGetsANewOne() throws IOException {
+        Category first = mapper.readValue("{\"name\":\"Work\"}", Category.class);
+        Category second = mapper.readValue("{\"name\":\"Work\"}", Category.class);
+        assertNotNull(first.getId());
+        assertNotEquals(first.getId(), second.getId());
+        assertNotNull(mapper.readValue("{\"title\":\"Report\"}", Task.class).getId());
+    }
+}
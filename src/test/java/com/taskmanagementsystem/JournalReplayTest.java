@@ -0,0 +1,140 @@
+package com.taskmanagementsystem;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalReplayTest {
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @TempDir
+    File folder;
+
+    @Test
+    void journalIsMergedIntoTheSnapshot() throws IOException {
+        Category category = new Category("Work");
+        Priority priority = new Priority("High");
+        Task kept = new Task("Kept", "", category.getId(), priority.getId(), LocalDate.of(2026, 5, 1));
+        Task edited = new Task("Before", "", category.getId(), priority.getId(), null);
+        Task deleted = new Task("Deleted", "", null, null, null);
+        Reminder reminder = new Reminder(deleted.getId(), ReminderType.ONE_DAY_BEFORE, LocalDate.of(2026, 4, 30));
+        File snapshot = new File(folder, "snapshot.bin");
+        BinarySnapshot.write(snapshot, new Object[]{category}, new Object[]{priority},
+                new Object[]{kept, edited, deleted}, new Object[]{reminder});
+
+        DataJournal journal = new DataJournal(new File(folder, "journal.log"), mapper);
+        edited.setTitle("After");
+        edited.setStatus(TaskStatus.COMPLETED);
+        journal.put(DataJournal.EntityType.TASK, edited);
+        journal.delete(DataJournal.EntityType.TASK, deleted.getId());
+        journal.delete(DataJournal.EntityType.REMINDER, reminder.getId());
+        Task created = new Task("Created", "After the snapshot", category.getId(), null, null);
+        journal.put(DataJournal.EntityType.TASK, created);
+        Category createdCategory = new Category("Home");
+        journal.put(DataJournal.EntityType.CATEGORY, createdCategory);
+        journal.close();
+
+        Loaded loaded = load(snapshot, journal);
+
+        assertEquals(List.of(category.getId(), createdCategory.getId()), ids(loaded.categories, Category::getId));
+        assertEquals("Home", loaded.categories.get(1).getName());
+        assertEquals(List.of(priority.getId()), ids(loaded.priorities, Priority::getId));
+        assertEquals(List.of(kept.getId(), edited.getId(), created.getId()), ids(loaded.tasks, Task::getId));
+        BinarySnapshotTest.assertTaskEquals(kept, loaded.tasks.get(0));
+        BinarySnapshotTest.assertTaskEquals(edited, loaded.tasks.get(1));
+        BinarySnapshotTest.assertTaskEquals(created, loaded.tasks.get(2));
+        assertTrue(loaded.reminders.isEmpty());
+    }
+
+    @Test
+    void rotatedJournalIsReplayedBeforeTheCurrentOne() throws IOException {
+        // A checkpoint that rotated the journal but did not finish: both files are replayed, in order
+        Task task = new Task("First", "", null, null, null);
+        DataJournal journal = new DataJournal(new File(folder, "journal.log"), mapper);
+        journal.put(DataJournal.EntityType.TASK, task);
+        journal.rotate();
+        task.setTitle("Second");
+        journal.put(DataJournal.EntityType.TASK, task);
+        journal.close();
+
+        Loaded loaded = load(new File(folder, "snapshot.bin"), journal);
+
+        assertEquals(1, loaded.tasks.size());
+        assertEquals("Second", loaded.tasks.get(0).getTitle());
+    }
+
+    @Test
+    void tornLastEntryIsIgnored() throws IOException {
+        Task task = new Task("Saved", "", null, null, null);
+        File file = new File(folder, "journal.log");
+        DataJournal journal = new DataJournal(file, mapper);
+        journal.put(DataJournal.EntityType.TASK, task);
+        journal.close();
+        Files.write(file.toPath(), "{\"op\":\"PUT\",\"type\":\"TASK\",\"da".getBytes(StandardCharsets.UTF_8),
+                StandardOpenOption.APPEND);
+
+        Loaded loaded = load(new File(folder, "snapshot.bin"), journal);
+
+        assertEquals(List.of(task.getId()), ids(loaded.tasks, Task::getId));
+    }
+
+    private Loaded load(File snapshot, DataJournal journal) throws IOException {
+        Map<DataJournal.EntityType, Map<EntityId, JsonNode>> overlays = new EnumMap<>(DataJournal.EntityType.class);
+        for (DataJournal.EntityType type : DataJournal.EntityType.values()) {
+            overlays.put(type, new LinkedHashMap<>());
+        }
+        journal.replay(new DataJournal.Replayer() {
+            @Override
+            public void put(DataJournal.EntityType type, JsonNode data) {
+                overlays.get(type).put(EntityId.parse(data.get("id").asText()), data);
+            }
+
+            @Override
+            public void delete(DataJournal.EntityType type, EntityId id) {
+                overlays.get(type).put(id, null);
+            }
+        });
+
+        Loaded loaded = new Loaded();
+        DataLoader loader = new DataLoader(mapper);
+        loader.addSnapshot(snapshot,
+                loader.target(Category.class, Category::getId, overlays.get(DataJournal.EntityType.CATEGORY), loaded.categories::addAll),
+                loader.target(Priority.class, Priority::getId, overlays.get(DataJournal.EntityType.PRIORITY), loaded.priorities::addAll),
+                loader.target(Task.class, Task::getId, overlays.get(DataJournal.EntityType.TASK), loaded.tasks::addAll),
+                loader.target(Reminder.class, Reminder::getId, overlays.get(DataJournal.EntityType.REMINDER), loaded.reminders::addAll));
+        loader.load(progress -> { });
+        return loaded;
+    }
+
+    private static <T> List<EntityId> ids(List<T> items, Function<T, EntityId> idOf) {
+        List<EntityId> ids = new ArrayList<>();
+        for (T item : items) {
+            ids.add(idOf.apply(item));
+        }
+        return ids;
+    }
+
+    private static final class Loaded {
+        final List<Category> categories = new ArrayList<>();
+        final List<Priority> priorities = new ArrayList<>();
+        final List<Task> tasks = new ArrayList<>();
+        final List<Reminder> reminders = new ArrayList<>();
+    }
+}
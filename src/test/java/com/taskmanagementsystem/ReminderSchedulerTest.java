@@ -0,0 +1,106 @@
+package com.taskmanagementsystem;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReminderSchedulerTest {
+    private static final LocalDate PAST = LocalDate.now().minusDays(2);
+    private static final LocalDate FUTURE = LocalDate.now().plusDays(30);
+
+    private final ReminderScheduler scheduler = new ReminderScheduler();
+    private final BlockingQueue<List<Reminder>> fired = new LinkedBlockingQueue<>();
+
+    @AfterEach
+    void stop() {
+        scheduler.stop();
+    }
+
+    @Test
+    void overdueRemindersFireTogetherAndOnce() throws InterruptedException {
+        Reminder a = reminder(PAST);
+        Reminder b = reminder(PAST.minusDays(10));
+        Reminder later = reminder(FUTURE);
+        scheduler.schedule(a);
+        scheduler.schedule(b);
+        scheduler.schedule(later);
+        assertEquals(3, scheduler.pendingCount());
+
+        scheduler.start(fired::add);
+        assertEquals(Set.of(a, b), new HashSet<>(next()));
+        assertNull(fired.poll(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, scheduler.pendingCount());
+    }
+
+    @Test
+    void cancelledAndRescheduledRemindersDoNotFire() throws InterruptedException {
+        Reminder cancelled = reminder(PAST);
+        Reminder postponed = reminder(PAST);
+        Reminder cleared = reminder(PAST);
+        Reminder kept = reminder(PAST);
+        for (Reminder r : List.of(cancelled, postponed, cleared, kept)) {
+            scheduler.schedule(r);
+        }
+        scheduler.cancel(cancelled);
+        postponed.setReminderDate(FUTURE);
+        scheduler.schedule(postponed);
+        cleared.setReminderDate(null);
+        scheduler.schedule(cleared);
+
+        scheduler.start(fired::add);
+        assertEquals(List.of(kept), next());
+        assertNull(fired.poll(200, TimeUnit.MILLISECONDS));
+        assertEquals(1, scheduler.pendingCount());
+    }
+
+    @Test
+    void scheduleRearmsAFiredReminder() throws InterruptedException {
+        Reminder reminder = reminder(PAST);
+        // Scheduling the same date again while it is pending is a no-op
+        scheduler.schedule(reminder);
+        scheduler.schedule(reminder);
+        scheduler.start(fired::add);
+        assertEquals(List.of(reminder), next());
+        assertNull(fired.poll(200, TimeUnit.MILLISECONDS));
+
+        // Once fired, scheduling it again arms it again
+        scheduler.schedule(reminder);
+        assertEquals(List.of(reminder), next());
+    }
+
+    @Test
+    void manyReschedulesLeaveOnlyTheCurrentEntry() throws InterruptedException {
+        Reminder reminder = reminder(FUTURE);
+        // Enough stale entries to trigger a purge of the queue
+        for (int i = 0; i < 3000; i++) {
+            reminder.setReminderDate(FUTURE.plusDays(i % 2));
+            scheduler.schedule(reminder);
+        }
+        reminder.setReminderDate(PAST);
+        scheduler.schedule(reminder);
+        assertEquals(1, scheduler.pendingCount());
+
+        scheduler.start(fired::add);
+        assertEquals(List.of(reminder), next());
+        assertEquals(0, scheduler.pendingCount());
+    }
+
+    private List<Reminder> next() throws InterruptedException {
+        List<Reminder> due = fired.poll(5, TimeUnit.SECONDS);
+        assertNotNull(due, "no reminder fired");
+        return due;
+    }
+
+    private static Reminder reminder(LocalDate date) {
+        return new Reminder(EntityId.generate(), ReminderType.SPECIFIC_DATE, date);
+    }
+}
@@ -0,0 +1,108 @@
+package com.taskmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskFacetIndexTest {
+    private final TaskFacetIndex facets = new TaskFacetIndex();
+    private final EntityId work = EntityId.generate();
+    private final EntityId home = EntityId.generate();
+    private final EntityId high = EntityId.generate();
+    private final EntityId low = EntityId.generate();
+
+    @Test
+    void bitmapsHoldTheTasksOfEachFacetValue() {
+        Task a = add(work, high, TaskStatus.OPEN);
+        Task b = add(work, low, TaskStatus.COMPLETED);
+        Task c = add(null, high, TaskStatus.OPEN);
+
+        assertEquals(List.of(a, b), facets.tasksOf(facets.categoryBits(work)));
+        assertEquals(List.of(c), facets.tasksOf(facets.categoryBits(null)));
+        assertEquals(List.of(a, c), facets.tasksOf(facets.priorityBits(high)));
+        assertEquals(List.of(a, c), facets.tasksOf(facets.statusBits(TaskStatus.OPEN)));
+        assertTrue(facets.categoryBits(home).isEmpty());
+
+        // Several facets: an intersection of bitmaps
+        BitSet workAndHigh = (BitSet) facets.categoryBits(work).clone();
+        workAndHigh.and(facets.priorityBits(high));
+        assertEquals(List.of(a), facets.tasksOf(workAndHigh));
+
+        assertTrue(TaskFacetIndex.contains(facets.categoryBits(work), b));
+        assertFalse(TaskFacetIndex.contains(facets.categoryBits(work), c));
+        assertEquals(3, facets.allBits().cardinality());
+    }
+
+    @Test
+    void changesMoveTheTaskBetweenBitmaps() {
+        Task task = add(work, high, TaskStatus.OPEN);
+        // Bitmaps are live: one taken before the change sees it
+        facets.addCategory(home);
+        BitSet homeBits = facets.categoryBits(home);
+
+        task.setCategoryId(home);
+        facets.categoryChanged(task, work, home);
+        task.setPriorityId(low);
+        facets.priorityChanged(task, high, low);
+        task.setStatus(TaskStatus.COMPLETED);
+        facets.statusChanged(task, TaskStatus.OPEN, TaskStatus.COMPLETED);
+
+        assertTrue(TaskFacetIndex.contains(homeBits, task));
+        assertFalse(TaskFacetIndex.contains(facets.categoryBits(work), task));
+        assertTrue(TaskFacetIndex.contains(facets.priorityBits(low), task));
+        assertFalse(TaskFacetIndex.contains(facets.priorityBits(high), task));
+        assertTrue(TaskFacetIndex.contains(facets.statusBits(TaskStatus.COMPLETED), task));
+        assertFalse(TaskFacetIndex.contains(facets.statusBits(TaskStatus.OPEN), task));
+    }
+
+    @Test
+    void removedOrdinalsAreReused() {
+        Task a = add(work, high, TaskStatus.OPEN);
+        Task b = add(work, high, TaskStatus.OPEN);
+        Task c = add(work, high, TaskStatus.OPEN);
+
+        facets.remove(b);
+        assertEquals(-1, b.ordinal());
+        assertFalse(TaskFacetIndex.contains(facets.categoryBits(work), b));
+        assertEquals(List.of(a, c), facets.tasksOf(facets.categoryBits(work)));
+
+        // The free ordinal is taken first, so the ordinals stay dense
+        Task d = add(home, low, TaskStatus.OPEN);
+        assertEquals(1, d.ordinal());
+        assertEquals(3, facets.allBits().length());
+
+        // Removing a task twice, or one never added, changes nothing
+        facets.remove(b);
+        facets.remove(new Task("Other", "", work, high, null));
+        assertEquals(List.of(a, d, c), facets.tasksOf(facets.allBits()));
+    }
+
+    @Test
+    void onlyEmptyBitmapsAreForgotten() {
+        Task task = add(work, high, TaskStatus.OPEN);
+        facets.forgetCategory(work);
+        assertTrue(TaskFacetIndex.contains(facets.categoryBits(work), task));
+
+        facets.remove(task);
+        facets.forgetCategory(work);
+        facets.forgetPriority(high);
+        assertTrue(facets.categoryBits(work).isEmpty());
+        assertTrue(facets.priorityBits(high).isEmpty());
+        // The bitmap of the tasks without category is never dropped: a filter holding it
+        // still sees the tasks added later
+        BitSet noCategory = facets.categoryBits(null);
+        facets.forgetCategory(null);
+        Task later = add(null, low, TaskStatus.OPEN);
+        assertTrue(TaskFacetIndex.contains(noCategory, later));
+    }
+
+    private Task add(EntityId categoryId, EntityId priorityId, TaskStatus status) {
+        Task task = new Task("Task", "", categoryId, priorityId, null);
+        task.setStatus(status);
+        facets.add(task);
+        return task;
+    }
+}
@@ -0,0 +1,107 @@
+package com.taskmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskPageTest {
+    @TempDir
+    File folder;
+
+    @Test
+    void pagesCoverTheResultsInIdOrder() throws IOException {
+        DataManager manager = new DataManager(folder);
+        manager.loadAllData();
+        Category rare = manager.createCategory("Rare");
+        manager.batch(() -> {
+            for (int i = 0; i < 250; i++) {
+                manager.createTask("Task " + i, "", (i % 25 == 0) ? rare : null, null, null);
+            }
+        });
+
+        // A small index (the bitmap of "Rare") and a walk in id order (no criteria)
+        for (TaskQuery query : List.of(new TaskQuery().category(rare), new TaskQuery(), new TaskQuery().title("1"))) {
+            List<Task> expected = new ArrayList<>(manager.searchTasks(query));
+            expected.sort(Comparator.comparing(Task::getId));
+
+            List<Task> paged = new ArrayList<>();
+            String cursor = null;
+            do {
+                TaskPage page = manager.searchTasksPage(query, 7, cursor);
+                assertTrue(page.getTasks().size() <= 7);
+                paged.addAll(page.getTasks());
+                cursor = page.getNextCursor();
+                assertEquals(cursor != null, page.hasNextPage());
+            } while (cursor != null);
+            assertEquals(expected, paged);
+        }
+    }
+
+    @Test
+    void changesBetweenPagesNeitherSkipNorRepeat() throws IOException {
+        DataManager manager = new DataManager(folder);
+        manager.loadAllData();
+        for (int i = 0; i < 20; i++) {
+            manager.createTask("Task " + i, "", null, null, null);
+        }
+        TaskPage first = manager.searchTasksPage(new TaskQuery(), 10, null);
+        // New ids are larger than every existing one; a deleted task only leaves its own gap
+        manager.deleteTask(first.getTasks().get(0));
+        Task created = manager.createTask("Later", "", null, null, null);
+
+        List<Task> rest = new ArrayList<>();
+        String cursor = first.getNextCursor();
+        while (cursor != null) {
+            TaskPage page = manager.searchTasksPage(new TaskQuery(), 10, cursor);
+            rest.addAll(page.getTasks());
+            cursor = page.getNextCursor();
+        }
+        assertEquals(11, rest.size());
+        assertEquals(created, rest.get(rest.size() - 1));
+        for (Task task : rest) {
+            assertFalse(first.getTasks().contains(task));
+        }
+    }
+
+    @Test
+    void cursorRoundTrips() {
+        EntityId id = EntityId.generate();
+        assertEquals(id, TaskPage.decodeCursor(TaskPage.encodeCursor(id)));
+    }
+
+    @Test
+    void rejectsCursorsItDidNotProduce() {
+        EntityId id = EntityId.generate();
+        for (String cursor : List.of(
+                "not base64!",
+                encode(id.toString()),                              // no prefix
+                encode("after:not-an-id"),
+                encode("after:1-2-3-4-5"),                          // parses as a UUID, but not canonical
+                encode("after:" + id.toString().toUpperCase()),
+                encode("after:" + id + " "),
+                "")) {
+            assertThrows(IllegalArgumentException.class, () -> TaskPage.decodeCursor(cursor), cursor);
+        }
+    }
+
+    @Test
+    void rejectsInvalidPageSizesAndCursors() throws IOException {
+        DataManager manager = new DataManager(folder);
+        manager.loadAllData();
+        assertThrows(IllegalArgumentException.class, () -> manager.searchTasksPage(new TaskQuery(), 0, null));
+        assertThrows(IllegalArgumentException.class, () -> manager.searchTasksPage(new TaskQuery(), 10, "garbage"));
+    }
+
+    private static String encode(String text) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,137 @@
+package com.taskmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskQueryPlannerTest {
+    private static final LocalDate START = LocalDate.of(2026, 1, 1);
+    private static final String[] WORDS = {"report", "budget", "meeting", "review", "draft", "invoice"};
+
+    private final List<Task> tasks = new ArrayList<>();
+    private final TaskFacetIndex facets = new TaskFacetIndex();
+    private final NavigableMap<LocalDate, Set<Task>> tasksByDeadline = new TreeMap<>();
+    private final NavigableMap<EntityId, Task> tasksInIdOrder = new TreeMap<>();
+    private final TaskSearchIndex searchIndex = new TaskSearchIndex();
+    private final TaskQueryPlanner planner =
+            new TaskQueryPlanner(tasks, facets, tasksByDeadline, tasksInIdOrder, searchIndex);
+
+    // 1000 tasks over a year: "Work" holds most of them, "Rare" only 10
+    private final Category work = new Category("Work");
+    private final Category home = new Category("Home");
+    private final Category rare = new Category("Rare");
+    private final Priority high = new Priority("High");
+    private final Priority low = new Priority("Low");
+
+    TaskQueryPlannerTest() {
+        Random random = new Random(42);
+        for (int i = 0; i < 1000; i++) {
+            Category category = (i % 100 == 0) ? rare : (i % 5 == 0) ? home : (i % 7 == 0) ? null : work;
+            Priority priority = (i % 3 == 0) ? high : low;
+            LocalDate deadline = (i % 11 == 0) ? null : START.plusDays(random.nextInt(365));
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + i;
+            String description = (i == 500) ? "unique zebra notes" : WORDS[random.nextInt(WORDS.length)];
+            Task task = new Task(title, description, category != null ? category.getId() : null,
+                    priority.getId(), deadline);
+            task.setStatus(TaskStatus.values()[i % TaskStatus.values().length]);
+            add(task);
+        }
+    }
+
+    @Test
+    void picksTheSmallestIndex() {
+        assertEquals(TaskQueryPlanner.AccessPath.FULL_SCAN, pathOf(new TaskQuery()));
+        assertEquals(TaskQueryPlanner.AccessPath.FULL_SCAN, pathOf(new TaskQuery().title("report")));
+        assertEquals(TaskQueryPlanner.AccessPath.BITMAP, pathOf(new TaskQuery().category(rare)));
+        // One day of deadlines is smaller than the "Work" bitmap
+        assertEquals(TaskQueryPlanner.AccessPath.DEADLINE_RANGE,
+                pathOf(new TaskQuery().category(work).deadlineBetween(START, START)));
+        // A word held by one task beats both
+        assertEquals(TaskQueryPlanner.AccessPath.TEXT_INDEX,
+                pathOf(new TaskQuery().category(work).deadlineBetween(START, START.plusDays(30)).text("zebra")));
+        // ... but not a bitmap that is smaller still
+        assertEquals(TaskQueryPlanner.AccessPath.BITMAP,
+                pathOf(new TaskQuery().category(rare).text("report")));
+    }
+
+    @Test
+    void everyPathReturnsWhatThePredicateAccepts() {
+        List<TaskQuery> queries = List.of(
+                new TaskQuery(),
+                new TaskQuery().title("REPORT 1"),
+                new TaskQuery().category(rare),
+                new TaskQuery().noCategory().priority(high),
+                new TaskQuery().category(home).statuses(TaskStatus.OPEN, TaskStatus.DELAYED),
+                new TaskQuery().deadlineBetween(START.plusDays(10), START.plusDays(20)),
+                new TaskQuery().deadlineBetween(null, START.plusDays(5)).priority(low),
+                new TaskQuery().deadlineBetween(START.plusDays(20), START.plusDays(10)),
+                new TaskQuery().text("budg").category(work),
+                new TaskQuery().text("zebra notes"),
+                new TaskQuery().text("draft").title("draft 2").priority(high));
+        for (TaskQuery query : queries) {
+            TaskQueryPlanner.Plan plan = planner.plan(query);
+            Predicate<Task> predicate = plan.predicate();
+            Set<Task> expected = new HashSet<>();
+            for (Task task : tasks) {
+                if (predicate.test(task)) expected.add(task);
+            }
+            List<Task> result = plan.execute();
+            assertEquals(expected.size(), result.size(), plan.explain());
+            assertEquals(expected, new HashSet<>(result), plan.explain());
+        }
+    }
+
+    @Test
+    void predicateChecksEveryCriterion() {
+        Task task = new Task("Final report", "Numbers for the budget", work.getId(), high.getId(), START.plusDays(3));
+        add(task);
+        TaskQuery query = new TaskQuery().title("final").text("budget").category(work).priority(high)
+                .statuses(TaskStatus.OPEN).deadlineBetween(START, START.plusDays(7));
+        Predicate<Task> predicate = planner.plan(query).predicate();
+        assertTrue(predicate.test(task));
+
+        // Category and priority are live bit tests: they follow the task's changes
+        task.setCategoryId(home.getId());
+        facets.categoryChanged(task, work.getId(), home.getId());
+        assertFalse(predicate.test(task));
+        task.setCategoryId(work.getId());
+        facets.categoryChanged(task, home.getId(), work.getId());
+        assertTrue(predicate.test(task));
+
+        task.setTitle("Draft report");
+        assertFalse(predicate.test(task));
+    }
+
+    @Test
+    void explainNamesThePathAndTheVerifiedCriteria() {
+        String explained = planner.plan(new TaskQuery().category(rare).text("report").title("1")).explain();
+        assertTrue(explained.startsWith("access: BITMAP(category) (cost ~10 tasks)"), explained);
+        assertTrue(explained.contains("rejected: TEXT_INDEX(words [report])"), explained);
+        assertTrue(explained.contains("rejected: FULL_SCAN (cost ~1000 tasks)"), explained);
+        assertTrue(explained.contains("verify: text has words [report], title contains \"1\""), explained);
+    }
+
+    private TaskQueryPlanner.AccessPath pathOf(TaskQuery query) {
+        return planner.plan(query).getAccessPath();
+    }
+
+    private void add(Task task) {
+        tasks.add(task);
+        facets.add(task);
+        if (task.getDeadline() != null) {
+            tasksByDeadline.computeIfAbsent(task.getDeadline(), d -> new HashSet<>()).add(task);
+        }
+        tasksInIdOrder.put(task.getId(), task);
+        searchIndex.add(task);
+    }
+}
@@ -0,0 +1,46 @@
+package com.taskmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskSearchIndexTest {
+    private static final String[] TEXTS = {
+            "Quarterly report", "Εργασία για το ΣΠΙΤΙ", "ΕΡΓΑΣΙΑ", "Τελικός έλεγχος", "crème brûlée",
+            "école", "self-review, v2", "İstanbul trip", "한국어 수업", "emoji 😀 plan", "", null
+    };
+    private static final String[] QUERIES = {
+            "report", "rep", "εργασια", "σπιτ", "τελικοσ", "ελεγχ", "creme", "brul", "ecole",
+            "review", "v2", "istanbul", "한국", "수업", "plan", "emoji", "port", "x"
+    };
+
+    @Test
+    void matchesAgreesWithTheTokenizedWords() {
+        for (String title : TEXTS) {
+            for (String description : TEXTS) {
+                Task task = new Task(title, description, null, null, null);
+                for (String query : QUERIES) {
+                    List<String> terms = TaskSearchIndex.tokenize(query);
+                    assertEquals(matchesByTokens(task, terms), TaskSearchIndex.matches(task, terms),
+                            "\"" + query + "\" in \"" + title + "\" / \"" + description + "\"");
+                }
+            }
+        }
+    }
+
+    @Test
+    void everyTermMustMatch() {
+        Task task = new Task("Τελικός έλεγχος", "Quarterly report", null, null, null);
+        assertTrue(TaskSearchIndex.matches(task, TaskSearchIndex.tokenize("ΤΕΛΙΚΟΣ rep")));
+        assertFalse(TaskSearchIndex.matches(task, TaskSearchIndex.tokenize("τελικος draft")));
+        assertTrue(TaskSearchIndex.matches(task, List.of()));
+    }
+
+    private static boolean matchesByTokens(Task task, List<String> terms) {
+        List<String> words = TaskSearchIndex.tokenize(task.getTitle());
+        words.addAll(TaskSearchIndex.tokenize(task.getDescription()));
+        return terms.stream().allMatch(term -> words.stream().anyMatch(word -> word.startsWith(term)));
+    }
+}
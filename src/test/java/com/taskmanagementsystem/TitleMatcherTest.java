@@ -0,0 +1,46 @@
+package com.taskmanagementsystem;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TitleMatcherTest {
+
+    @Test
+    void matchesSubstringsIgnoringCase() {
+        Task task = task("Quarterly Report");
+        assertTrue(TitleMatcher.compile("report").matches(task));
+        assertTrue(TitleMatcher.compile("TERLY rep").matches(task));
+        assertFalse(TitleMatcher.compile("reports").matches(task));
+    }
+
+    @Test
+    void foldsGreekFinalSigmaAndSpecialCases() {
+        assertTrue(TitleMatcher.compile("ΕΡΓΑΣΙΑΣ").matches(task("Λίστα εργασιας")));
+        assertTrue(TitleMatcher.compile("εργασίας").matches(task("ΛΙΣΤΑ ΕΡΓΑΣΊΑΣ")));
+        assertTrue(TitleMatcher.compile("STRASSE").matches(task("Hauptstraße 5")));
+    }
+
+    @Test
+    void emptyQueryMatchesEverything() {
+        assertTrue(TitleMatcher.compile(null).matchesAll());
+        assertTrue(TitleMatcher.compile("").matches(task(null)));
+        assertFalse(TitleMatcher.compile("a").matchesAll());
+        assertFalse(TitleMatcher.compile("a").matches(task(null)));
+    }
+
+    @Test
+    void followsTitleChanges() {
+        Task task = task("Draft");
+        TitleMatcher matcher = TitleMatcher.compile("final");
+        assertFalse(matcher.matches(task));
+        task.setTitle("Final version");
+        assertTrue(matcher.matches(task));
+    }
+
+    private static Task task(String title) {
+        Task task = new Task(EntityId.generate());
+        task.setTitle(title);
+        return task;
+    }
+}